@@ -0,0 +1,73 @@
+package org.example.projectfortest.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.projectfortest.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and the two verification paths of a request: a token seen before is
+ * answered from the verified-token cache, a new one pays for the HMAC check and decoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private User user;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtTokenProvider, "secret", "benchmark-secret");
+        ReflectionTestUtils.setField(jwtTokenProvider, "accessTokenValidity", 3_600_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheMaximumSize", 10_000L);
+        jwtTokenProvider.init();
+        user = new User();
+        user.setId(UUID.randomUUID().toString());
+        user.setEmail("benchmark@example.org");
+        accessToken = jwtTokenProvider.generateAccessToken(user);
+        refreshToken = jwtTokenProvider.generateRefreshToken(user, UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(), Instant.now().plus(1, ChronoUnit.DAYS));
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtTokenProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Optional<Authentication> authenticateCached() {
+        return jwtTokenProvider.authenticate(accessToken);
+    }
+
+    /**
+     * Refresh tokens are never cached, so this is the full signature check and decode.
+     */
+    @Benchmark
+    public Object verifyUncached() {
+        return jwtTokenProvider.verifyRefreshToken(refreshToken);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.projectfortest.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.projectfortest.entity.Task;
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of task lists with an ObjectMapper configured the way Spring MVC
+ * configures it. Output goes to a null stream, so only serialization is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Task> tasks;
+    private List<TaskView> views;
+    private ObjectWriter taskWriter;
+    private ObjectWriter viewWriter;
+
+    @Setup
+    public void setUp() {
+        tasks = new ArrayList<>(size);
+        views = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId(UUID.randomUUID());
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i);
+            task.setDueDate(now.plusHours(i % 500));
+            task.setPriority(Priority.values()[i % 3]);
+            task.setStatus(TaskStatus.values()[i % 3]);
+            task.setCategory(Category.values()[i % 3]);
+            task.setCreatedAt(now.minusMinutes(i));
+            task.setUpdatedAt(now);
+            tasks.add(task);
+            views.add(new TaskView(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(),
+                    task.getPriority(), task.getStatus(), task.getCategory(), task.getCreatedAt(), task.getUpdatedAt(), task.getVersion()));
+        }
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        taskWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Task.class));
+        viewWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TaskView.class));
+    }
+
+    @Benchmark
+    public void serializeTasks() throws IOException {
+        taskWriter.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+
+    @Benchmark
+    public void serializeTaskViews() throws IOException {
+        viewWriter.writeValue(OutputStream.nullOutputStream(), views);
+    }
+}
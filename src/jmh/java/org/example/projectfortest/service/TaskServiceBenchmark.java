@@ -0,0 +1,97 @@
+package org.example.projectfortest.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.projectfortest.config.UserPrincipal;
+import org.example.projectfortest.dto.CursorPageResponse;
+import org.example.projectfortest.dto.TaskView;
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-JVM part of the list endpoints: specification building, cursor handling and the
+ * task-list cache, with a repository stub that returns a prepared page. Filtering and
+ * sorting themselves run in PostgreSQL, so their cost at 1k/100k/1M rows is measured by
+ * the load test against a real database rather than here.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private TaskService taskService;
+    private List<UUID> taskIds;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        List<TaskView> page = new ArrayList<>(TaskService.DEFAULT_PAGE_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < TaskService.DEFAULT_PAGE_SIZE; i++) {
+            page.add(new TaskView(UUID.randomUUID(), "Task " + i, "Description " + i, now.plusDays(i % 7),
+                    Priority.values()[i % 3], TaskStatus.values()[i % 3], Category.values()[i % 3],
+                    now.minusMinutes(i), now, 0));
+        }
+        taskIds = page.stream().map(TaskView::getId).toList();
+        TaskView last = page.get(page.size() - 1);
+        cursor = TaskCursorCodec.encode(last.getCreatedAt(), last.getId());
+
+        TaskRepository taskRepository = (TaskRepository) Proxy.newProxyInstance(TaskRepository.class.getClassLoader(),
+                new Class<?>[]{TaskRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findViews" -> args.length == 2 ? page : Window.from(page, index -> ScrollPosition.keyset(), true);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal("benchmark-user", "benchmark@example.org"), null, List.of()));
+        taskService = new TaskService(taskRepository, null, null, new CurrentUserProvider(null),
+                new TaskListCache(10_000, Duration.ofMinutes(5)), null, null, null, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public CursorPageResponse<TaskView> filterTasksFirstPage() {
+        return taskService.filterTasks("task", Category.WORK, Priority.HIGH, null, null, null, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPageResponse<TaskView> filterTasksNextPage() {
+        return taskService.filterTasks(null, null, null, TaskStatus.CREATED, true, cursor, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<TaskView> sortTasks() {
+        return taskService.sortTasks(taskIds, List.of("priority", "dueDate"), false, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPageResponse<TaskView> getAllTasksCached() {
+        return taskService.getAllTasks(null, TaskService.DEFAULT_PAGE_SIZE);
+    }
+}
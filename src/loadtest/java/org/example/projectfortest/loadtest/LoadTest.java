@@ -0,0 +1,250 @@
+package org.example.projectfortest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.example.projectfortest.ProjectForTestApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.CommandLinePropertySource;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load test. Starts the application in-process on a random port (or targets
+ * {@code --loadtest.base-url}), registers users, drives a weighted mix of task calls from
+ * concurrent clients and prints throughput and latency percentiles per endpoint. Exits
+ * with status 1 when a threshold is missed. Latencies of the measured window are recorded
+ * in HdrHistograms, which keep every sample until the report is printed.
+ * <p>
+ * Options are {@code --loadtest.*} arguments; all other arguments are passed to the
+ * application, e.g. {@code --spring.datasource.url=...}. See the loadtest profile in pom.xml.
+ */
+public class LoadTest {
+
+    enum Endpoint {
+        ADD, FILTER, ALL, EDIT, STATUS;
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final CommandLinePropertySource<?> options;
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    LoadTest(CommandLinePropertySource<?> options) {
+        this.options = options;
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLinePropertySource<?> options = new SimpleCommandLinePropertySource(args);
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.getProperty("loadtest.base-url");
+        if (baseUrl == null) {
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            System.setProperty("spring.jpa.show-sql", "false");
+            System.setProperty("server.port", "0");
+            context = new SpringApplicationBuilder(ProjectForTestApplication.class).run(args);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        List<String> failures;
+        try {
+            failures = new LoadTest(options).run(baseUrl);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.err.println("FAILED: " + failure));
+            System.exit(1);
+        }
+        System.out.println("All thresholds met");
+    }
+
+    List<String> run(String baseUrl) throws Exception {
+        int users = integer("loadtest.users", 20);
+        int clients = integer("loadtest.clients", 64);
+        int seedTasks = integer("loadtest.seed-tasks", 20);
+        Duration warmup = duration("loadtest.warmup", "10s");
+        Duration duration = duration("loadtest.duration", "60s");
+        Duration requestTimeout = duration("loadtest.request-timeout", "10s");
+        Endpoint[] mix = mix(string("loadtest.mix", "add:10,filter:30,all:35,edit:15,status:10"));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(requestTimeout)
+                     .executor(executor)
+                     .build()) {
+            String runId = UUID.randomUUID().toString().substring(0, 8);
+            List<Future<TaskApiClient>> registrations = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                String email = "loadtest-" + runId + "-" + i + "@example.org";
+                registrations.add(executor.submit(() -> {
+                    TaskApiClient client = new TaskApiClient(httpClient, objectMapper, baseUrl, requestTimeout);
+                    client.register(email, "LoadTest-" + runId);
+                    for (int t = 0; t < seedTasks; t++) {
+                        client.addTask();
+                    }
+                    return client;
+                }));
+            }
+            List<TaskApiClient> apiClients = new ArrayList<>(users);
+            for (Future<TaskApiClient> registration : registrations) {
+                apiClients.add(registration.get());
+            }
+            System.out.printf("Registered %d users with %d tasks each, running %d clients for %s after %s warm-up against %s%n",
+                    users, seedTasks, clients, duration, warmup, baseUrl);
+
+            long measureFrom = System.nanoTime() + warmup.toNanos();
+            long deadline = measureFrom + duration.toNanos();
+            List<Future<?>> workers = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                TaskApiClient client = apiClients.get(i % apiClients.size());
+                workers.add(executor.submit(() -> drive(client, mix, measureFrom, deadline)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return report(duration);
+    }
+
+    private void drive(TaskApiClient client, Endpoint[] mix, long measureFrom, long deadline) {
+        long now;
+        while ((now = System.nanoTime()) < deadline) {
+            Endpoint endpoint = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+            boolean ok;
+            try {
+                int status = switch (endpoint) {
+                    case ADD -> client.addTask();
+                    case FILTER -> client.filterTasks();
+                    case ALL -> client.getAllTasks();
+                    case EDIT -> client.editTask();
+                    case STATUS -> client.changeStatus();
+                };
+                ok = status >= 200 && status < 300;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (now >= measureFrom) {
+                latencies.get(endpoint).recordValue(System.nanoTime() - now);
+                if (!ok) {
+                    errors.get(endpoint).increment();
+                }
+            }
+        }
+    }
+
+    private List<String> report(Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        double minThroughput = decimal("loadtest.min-throughput", 50);
+        double maxErrorRate = decimal("loadtest.max-error-rate", 0.01);
+        List<String> failures = new ArrayList<>();
+        long total = 0;
+        long totalErrors = 0;
+
+        System.out.printf("%-8s %9s %9s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            long count = histogram.getTotalCount();
+            long errorCount = errors.get(endpoint).sum();
+            total += count;
+            totalErrors += errorCount;
+            if (count == 0) {
+                continue;
+            }
+            double p50 = millis(histogram.getValueAtPercentile(50));
+            double p95 = millis(histogram.getValueAtPercentile(95));
+            double p99 = millis(histogram.getValueAtPercentile(99));
+            System.out.printf("%-8s %9d %9.1f %7d %9.1f %9.1f %9.1f %9.1f%n", endpoint.key(), count, count / seconds,
+                    errorCount, p50, p95, p99, millis(histogram.getMaxValue()));
+
+            Duration maxP95 = duration("loadtest.max-p95." + endpoint.key(), string("loadtest.max-p95", "500ms"));
+            Duration maxP99 = duration("loadtest.max-p99." + endpoint.key(), string("loadtest.max-p99", "1s"));
+            if (p95 > maxP95.toMillis()) {
+                failures.add(String.format("%s p95 %.1f ms exceeds %d ms", endpoint.key(), p95, maxP95.toMillis()));
+            }
+            if (p99 > maxP99.toMillis()) {
+                failures.add(String.format("%s p99 %.1f ms exceeds %d ms", endpoint.key(), p99, maxP99.toMillis()));
+            }
+        }
+        double throughput = total / seconds;
+        double errorRate = total == 0 ? 1 : (double) totalErrors / total;
+        System.out.printf("%-8s %9d %9.1f %7d%n", "total", total, throughput, totalErrors);
+        if (throughput < minThroughput) {
+            failures.add(String.format("throughput %.1f req/s is below %.1f req/s", throughput, minThroughput));
+        }
+        if (errorRate > maxErrorRate) {
+            failures.add(String.format("error rate %.4f exceeds %.4f", errorRate, maxErrorRate));
+        }
+        return failures;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Expands {@code add:10,filter:30,...} into a lookup table where each endpoint appears
+     * as often as its weight, so picking a random slot follows the mix.
+     */
+    private static Endpoint[] mix(String spec) {
+        List<Endpoint> slots = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split(":");
+            Endpoint endpoint = Endpoint.valueOf(entry[0].trim().toUpperCase(Locale.ROOT));
+            int weight = entry.length > 1 ? Integer.parseInt(entry[1].trim()) : 1;
+            for (int i = 0; i < weight; i++) {
+                slots.add(endpoint);
+            }
+        }
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must name at least one endpoint");
+        }
+        return slots.toArray(Endpoint[]::new);
+    }
+
+    private String string(String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private int integer(String name, int defaultValue) {
+        return Integer.parseInt(string(name, Integer.toString(defaultValue)));
+    }
+
+    private double decimal(String name, double defaultValue) {
+        return Double.parseDouble(string(name, Double.toString(defaultValue)));
+    }
+
+    private Duration duration(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(string(name, defaultValue));
+    }
+}
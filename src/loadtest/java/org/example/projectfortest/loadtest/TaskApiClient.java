@@ -0,0 +1,145 @@
+package org.example.projectfortest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One registered user of the load test: its access token and the ids of the tasks it owns.
+ * Every call returns the HTTP status; transport failures are thrown.
+ */
+class TaskApiClient {
+    private static final String[] CATEGORIES = {"WORK", "PERSONAL", "HEALTH"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final List<UUID> taskIds = new CopyOnWriteArrayList<>();
+    private String accessToken;
+
+    TaskApiClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, Duration timeout) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+    }
+
+    void register(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/api/auth/register", Map.of("email", email, "password", password)));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Registering " + email + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        accessToken = objectMapper.readTree(response.body()).path("accessToken").asText();
+    }
+
+    int addTask() throws IOException, InterruptedException {
+        int n = ThreadLocalRandom.current().nextInt(1_000_000);
+        HttpResponse<String> response = send(post("/task/add", Map.of(
+                "title", "Load test task " + n,
+                "description", "Created by the load test",
+                "dueDate", randomDueDate(),
+                "priority", random(PRIORITIES),
+                "category", random(CATEGORIES))));
+        if (response.statusCode() == 200) {
+            JsonNode id = objectMapper.readTree(response.body()).path("id");
+            if (id.isTextual()) {
+                taskIds.add(UUID.fromString(id.asText()));
+            }
+        }
+        return response.statusCode();
+    }
+
+    int filterTasks() throws IOException, InterruptedException {
+        return send(get("/task/filter?category=" + random(CATEGORIES) + "&priority=" + random(PRIORITIES))).statusCode();
+    }
+
+    int getAllTasks() throws IOException, InterruptedException {
+        return send(get("/task/all")).statusCode();
+    }
+
+    int editTask() throws IOException, InterruptedException {
+        UUID id = randomTaskId();
+        if (id == null) {
+            return addTask();
+        }
+        HttpRequest request = authorized("/task/edit/" + id)
+                .PUT(body(Map.of(
+                        "title", "Edited load test task",
+                        "description", "Edited by the load test",
+                        "dueDate", randomDueDate(),
+                        "priority", random(PRIORITIES),
+                        "category", random(CATEGORIES))))
+                .build();
+        return send(request).statusCode();
+    }
+
+    int changeStatus() throws IOException, InterruptedException {
+        UUID id = randomTaskId();
+        if (id == null) {
+            return addTask();
+        }
+        String path = ThreadLocalRandom.current().nextBoolean() ? "/task/in_progress/" : "/task/done/";
+        return send(authorized(path + id).POST(HttpRequest.BodyPublishers.noBody()).build()).statusCode();
+    }
+
+    private UUID randomTaskId() {
+        List<UUID> snapshot = taskIds;
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        return snapshot.get(ThreadLocalRandom.current().nextInt(snapshot.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(path).GET().build();
+    }
+
+    private HttpRequest post(String path, Object payload) throws IOException {
+        return authorized(path).POST(body(payload)).build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json");
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher body(Object payload) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload));
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Mostly upcoming, partly overdue, so the due-date scheduler and overdue filters keep
+     * seeing the same mix; edits overwrite every field and must send one too.
+     */
+    private static String randomDueDate() {
+        int hours = ThreadLocalRandom.current().nextInt(200) - 50;
+        return LocalDateTime.now().plusHours(hours).withNano(0).toString();
+    }
+
+    private static String random(String[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.projectfortest.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt cost whose hash time on this machine is closest to, without exceeding,
+ * a target latency. Each cost step doubles the work, so one timed hash is enough to
+ * extrapolate the rest.
+ */
+@Slf4j
+final class BCryptStrengthCalibrator {
+    private static final int PROBE_STRENGTH = 8;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        String salt = BCrypt.gensalt(PROBE_STRENGTH);
+        BCrypt.hashpw("calibration", salt);
+        long started = System.nanoTime();
+        BCrypt.hashpw("calibration", salt);
+        long probeNanos = Math.max(1, System.nanoTime() - started);
+
+        int strength = PROBE_STRENGTH;
+        long estimatedNanos = probeNanos;
+        while (strength < maxStrength && estimatedNanos * 2 <= targetLatency.toNanos()) {
+            strength++;
+            estimatedNanos *= 2;
+        }
+        strength = Math.max(minStrength, Math.min(maxStrength, strength));
+        log.info("BCrypt cost {} selected for a target of {} ms (cost {} took {} ms)",
+                strength, targetLatency.toMillis(), PROBE_STRENGTH, probeNanos / 1_000_000.0);
+        return strength;
+    }
+}
@@ -17,6 +17,7 @@ import java.io.IOException;
 public class JwtTokenFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final ManagementPortRequestMatcher managementPortRequestMatcher;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,16 +33,17 @@ public class JwtTokenFilter extends OncePerRequestFilter {
                 || path.equals("/")
                 || path.equals("/auth")
                 || path.equals("/tasks.html")
-                || path.equals("/auth.html")) {
+                || path.equals("/auth.html")
+                || managementPortRequestMatcher.matches(request)) {
             filterChain.doFilter(request, response);
             return;
         }
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            if (jwtTokenProvider.isValidToken(token)) {
-                var authentication = jwtTokenProvider.getAuthentication(token);
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            var authentication = jwtTokenProvider.authenticate(token);
+            if (authentication.isPresent()) {
+                SecurityContextHolder.getContext().setAuthentication(authentication.get());
             } else {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Invalid or expired token");
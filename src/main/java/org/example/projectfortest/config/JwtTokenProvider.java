@@ -1,39 +1,75 @@
 package org.example.projectfortest.config;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.example.projectfortest.entity.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private static final String TOKEN_TYPE_CLAIM = "typ";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.access.expiration}")
     private long accessTokenValidity;
 
-    @Value("${jwt.refresh.expiration}")
-    private long refreshTokenValidity;
+    @Value("${jwt.verified-cache.maximum-size:10000}")
+    private long verifiedCacheMaximumSize;
+
+    private final MeterRegistry meterRegistry;
 
     private Algorithm algorithm;
+    private JWTVerifier verifier;
+    private Cache<String, VerifiedToken> verifiedTokens;
+    private Timer cachedTimer;
+    private Timer verifiedTimer;
+    private Timer rejectedTimer;
 
     @PostConstruct
     public void init() {
         algorithm = Algorithm.HMAC256(secret);
+        verifier = JWT.require(algorithm).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
+        cachedTimer = authenticationTimer("cached");
+        verifiedTimer = authenticationTimer("verified");
+        rejectedTimer = authenticationTimer("rejected");
     }
 
     public String generateAccessToken(User user) {
@@ -44,30 +80,120 @@ public class JwtTokenProvider {
                 .sign(algorithm);
     }
 
-    public String generateRefreshToken(User user) {
+    public String generateRefreshToken(User user, String tokenId, String familyId, Instant expiresAt) {
         return JWT.create()
                 .withSubject(user.getEmail())
-                .withExpiresAt(new Date(System.currentTimeMillis() + refreshTokenValidity))
+                .withJWTId(tokenId)
+                .withClaim("userId", user.getId())
+                .withClaim("familyId", familyId)
+                .withClaim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .withExpiresAt(expiresAt)
                 .sign(algorithm);
     }
 
+    /**
+     * Verifies the signature and expiry of a refresh token; access tokens are rejected.
+     */
+    public Optional<DecodedJWT> verifyRefreshToken(String token) {
+        try {
+            DecodedJWT decoded = verifier.verify(token);
+            return isRefreshToken(decoded) ? Optional.of(decoded) : Optional.empty();
+        } catch (JWTVerificationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Verifies and decodes the token once and remembers the result until the token expires,
+     * so repeated requests with the same token skip the signature check and JSON decoding.
+     */
+    public Optional<Authentication> authenticate(String token) {
+        long start = System.nanoTime();
+        String key = hash(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        Timer timer = cachedTimer;
+        if (verified == null) {
+            DecodedJWT decoded;
+            try {
+                decoded = verifier.verify(token);
+            } catch (JWTVerificationException e) {
+                return reject(start);
+            }
+            if (isRefreshToken(decoded)) {
+                return reject(start);
+            }
+            verified = new VerifiedToken(
+                    new UserPrincipal(decoded.getClaim("userId").asString(), decoded.getSubject()),
+                    decoded.getExpiresAt().getTime());
+            verifiedTokens.put(key, verified);
+            timer = verifiedTimer;
+        } else if (verified.expiresAtMillis() <= System.currentTimeMillis()) {
+            verifiedTokens.invalidate(key);
+            return reject(start);
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.of(new UsernamePasswordAuthenticationToken(verified.principal(), null, AUTHORITIES));
+    }
+
     public Authentication getAuthentication(String token) {
-        DecodedJWT decoded = JWT.require(algorithm).build().verify(token);
-        String email = decoded.getSubject();
-        return new UsernamePasswordAuthenticationToken(email, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        DecodedJWT decoded = verifier.verify(token);
+        UserPrincipal principal = new UserPrincipal(decoded.getClaim("userId").asString(), decoded.getSubject());
+        return new UsernamePasswordAuthenticationToken(principal, null, AUTHORITIES);
     }
 
     public boolean isValidToken(String token) {
-        try {
-            JWT.require(algorithm).build().verify(token);
-            return true;
-        } catch (JWTVerificationException e) {
-            return false;
-        }
+        return authenticate(token).isPresent();
     }
 
     public String getEmailFromToken(String token) {
-        DecodedJWT decoded = JWT.require(algorithm).build().verify(token);
+        DecodedJWT decoded = verifier.verify(token);
         return decoded.getSubject();
     }
+
+    private Optional<Authentication> reject(long start) {
+        rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.empty();
+    }
+
+    private Timer authenticationTimer(String outcome) {
+        return Timer.builder("security.jwt.authentication")
+                .description("Access token authentication, by whether the signature check was skipped")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static boolean isRefreshToken(DecodedJWT decoded) {
+        return REFRESH_TOKEN_TYPE.equals(decoded.getClaim(TOKEN_TYPE_CLAIM).asString());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(UserPrincipal principal, long expiresAtMillis) {
+    }
+
+    private static class ExpireAtTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
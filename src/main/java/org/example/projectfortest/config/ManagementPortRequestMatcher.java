@@ -0,0 +1,29 @@
+package org.example.projectfortest.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Matches requests that arrived on {@code management.server.port}. The actuator endpoints
+ * are only served there, on a port that is not exposed publicly, so they are open to the
+ * scraper without a user token; the application port never matches.
+ */
+@Component
+public class ManagementPortRequestMatcher implements RequestMatcher {
+
+    private final int managementPort;
+    private final int serverPort;
+
+    public ManagementPortRequestMatcher(@Value("${management.server.port:-1}") int managementPort,
+                                        @Value("${server.port:8080}") int serverPort) {
+        this.managementPort = managementPort;
+        this.serverPort = serverPort;
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return managementPort > 0 && managementPort != serverPort && request.getLocalPort() == managementPort;
+    }
+}
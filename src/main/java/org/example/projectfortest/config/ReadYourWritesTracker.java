@@ -0,0 +1,37 @@
+package org.example.projectfortest.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.projectfortest.event.TaskChangedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users committed a task write within the last few seconds, so their
+ * reads stay on the primary until the replicas have caught up.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maximumSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void markWritten(String userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(String userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        markWritten(event.userId());
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.projectfortest.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primary/replica routing, enabled with {@code datasource.routing.enabled=true}. The primary
+ * pool is built from {@code spring.datasource.*}; each URL in {@code datasource.replica.urls}
+ * gets its own read-only pool. Both take their pool settings from {@code spring.datasource.hikari.*},
+ * as Boot's own pool would. See {@code application-replica.properties} for a local setup.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.routing.read-your-writes-window:5s}") Duration window,
+            @Value("${datasource.routing.read-your-writes-maximum-size:100000}") long maximumSize) {
+        return new ReadYourWritesTracker(window, maximumSize);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             ObjectProvider<MeterRegistry> meterRegistry,
+                                                             @Value("${datasource.replica.urls:}") List<String> replicaUrls,
+                                                             @Value("${datasource.replica.username:${spring.datasource.username}}") String username,
+                                                             @Value("${datasource.replica.password:${spring.datasource.password}}") String password,
+                                                             Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        meterRegistry.ifAvailable(registry -> primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.projectfortest.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,11 +13,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtTokenFilter jwtTokenFilter;
+    private final ManagementPortRequestMatcher managementPortRequestMatcher;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -26,6 +30,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
                         .requestMatchers("/auth", "/auth.html", "/", "/tasks.html").permitAll()
+                        .requestMatchers("/error").permitAll()
+                        .requestMatchers(managementPortRequestMatcher).permitAll()
                         .anyRequest().authenticated()
                 )
                 .formLogin(form -> form
@@ -45,7 +51,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.target-latency:250ms}") Duration targetLatency,
+                                           @Value("${security.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${security.bcrypt.max-strength:14}") int maxStrength) {
+        return new BCryptPasswordEncoder(BCryptStrengthCalibrator.calibrate(targetLatency, minStrength, maxStrength));
     }
 }
\ No newline at end of file
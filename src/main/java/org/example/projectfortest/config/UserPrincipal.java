@@ -0,0 +1,15 @@
+package org.example.projectfortest.config;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Authenticated user as carried by the access token, so request handling can scope
+ * queries by user id without loading the {@code User} entity.
+ */
+public record UserPrincipal(String id, String email) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.projectfortest.dto.LoginRequest;
 import org.example.projectfortest.dto.RecoveryPasswordDTO;
+import org.example.projectfortest.dto.RefreshTokenRequest;
 import org.example.projectfortest.dto.RegisterRequest;
 import org.example.projectfortest.service.UserService;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +30,11 @@ public class AuthController {
         return ResponseEntity.ok(tokens);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(userService.refresh(request.getRefreshToken()));
+    }
+
     @PostMapping("/recovery")
     public ResponseEntity<?> recoveryPassword(@RequestBody RecoveryPasswordDTO recoveryPasswordDTO) {
         return ResponseEntity.ok(userService.recoveryPassword(recoveryPasswordDTO.getEmail(),
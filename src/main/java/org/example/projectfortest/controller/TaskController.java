@@ -1,30 +1,56 @@
 package org.example.projectfortest.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.projectfortest.dto.TaskView;
 import org.example.projectfortest.dto.UpdateTaskDTO;
 import org.example.projectfortest.entity.Task;
 import org.example.projectfortest.entity.enums.Category;
 import org.example.projectfortest.entity.enums.Priority;
 import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.service.TaskEventBroadcaster;
+import org.example.projectfortest.service.TaskExportFormat;
+import org.example.projectfortest.service.TaskExportService;
+import org.example.projectfortest.service.TaskImportService;
 import org.example.projectfortest.service.TaskService;
+import org.example.projectfortest.service.TaskStatsService;
+import org.example.projectfortest.service.TaskSyncService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/task")
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final TaskEventBroadcaster taskEventBroadcaster;
+    private final TaskSyncService taskSyncService;
+    private final TaskStatsService taskStatsService;
 
     @PostMapping("/add")
     public ResponseEntity<?> createTask(@RequestBody Task task) {
         return ResponseEntity.ok(taskService.createTask(task));
     }
 
+    @PostMapping("/add/batch")
+    public ResponseEntity<?> createTasks(@RequestBody List<Task> tasks) {
+        return ResponseEntity.ok(taskService.createTasks(tasks));
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<?> deleteTask(@PathVariable UUID id) {
         taskService.deleteTask(id);
@@ -34,23 +60,44 @@ public class TaskController {
     @GetMapping("/filter")
     public ResponseEntity<?> filterTasks(@RequestParam(required = false) String keyword, @RequestParam(required = false) Category category,
                                          @RequestParam(required = false) Priority priority, @RequestParam(required = false) TaskStatus status,
-                                         @RequestParam(required = false) Boolean overdue) {
-        return ResponseEntity.ok(taskService.filterTasks(keyword, category, priority, status, overdue));
+                                         @RequestParam(required = false) Boolean overdue, @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int limit,
+                                         WebRequest request) {
+        String etag = taskService.getTaskListETag();
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return conditional(etag).body(taskService.filterTasks(keyword, category, priority, status, overdue, cursor, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTasks(@RequestParam("q") String query,
+                                         @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(taskService.searchTasks(query, limit));
     }
 
-    @GetMapping("/sort")
-    public ResponseEntity<?> sortTasks(@RequestParam List<UUID> taskIds, @RequestParam(required = false) String sortBy, @RequestParam(defaultValue = "true") boolean ascending) {
-        List<Task> tasks = taskIds.stream()
-                .map(id -> taskService.getTaskById(id)
-                        .orElseThrow(() -> new RuntimeException("Task not found: " + id)))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(taskService.sortTasks(tasks, sortBy, ascending));
+    /**
+     * Takes the ids to sort in the body, since a few hundred UUIDs overflow a request line.
+     */
+    @PostMapping("/sort")
+    public ResponseEntity<?> sortTasks(@RequestBody(required = false) List<UUID> taskIds, @RequestParam(required = false) List<String> sortBy,
+                                       @RequestParam(defaultValue = "true") boolean ascending,
+                                       @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(taskService.sortTasks(taskIds, sortBy, ascending, limit));
     }
 
+    /**
+     * Accepts the task's version as {@code If-Match: "<version>"}; a stale version is rejected
+     * with 409 and an unknown task with 404. If-Match uses strong comparison, so a weak tag never
+     * matches and gets 412. Without the header the edit is unconditional. The new version is
+     * returned as ETag.
+     */
     @PutMapping("/edit/{id}")
     public ResponseEntity<?> updateTask(@PathVariable UUID id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                         @RequestBody UpdateTaskDTO updateTaskDTO) {
-        return ResponseEntity.ok(taskService.updateTask(id, updateTaskDTO));
+        TaskView updated = taskService.updateTask(id, expectedVersion(ifMatch), updateTaskDTO);
+        return ResponseEntity.ok().eTag("\"" + updated.getVersion() + "\"").body(updated);
     }
 
     @PostMapping("/in_progress/{id}")
@@ -65,8 +112,77 @@ public class TaskController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/in_progress")
+    public ResponseEntity<?> inProgressTasks(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(Map.of("updated", taskService.updateTaskStatus(ids, TaskStatus.IN_PROGRESS)));
+    }
+
+    @PostMapping("/done")
+    public ResponseEntity<?> doneTasks(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(Map.of("updated", taskService.updateTaskStatus(ids, TaskStatus.DONE)));
+    }
+
     @GetMapping("/all")
-    public ResponseEntity<?> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<?> getAllTasks(@RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int limit,
+                                         WebRequest request) {
+        String etag = taskService.getTaskListETag();
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return conditional(etag).body(taskService.getAllTasks(cursor, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "NDJSON") TaskExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + format.getExtension() + "\"")
+                .body(taskExportService.exportTasks(format));
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<?> importTasks(@RequestParam(defaultValue = "NDJSON") TaskExportFormat format,
+                                         InputStream body) {
+        return ResponseEntity.ok(taskImportService.importTasks(body, format));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since, @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(taskSyncService.getChanges(since, cursor, limit));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats() {
+        return ResponseEntity.ok(taskStatsService.getStats());
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return taskEventBroadcaster.subscribe();
+    }
+
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match requires a strong entity tag");
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must be a task version");
+        }
+    }
+
+    private static ResponseEntity.BodyBuilder conditional(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate());
+    }
+
+    private static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
     }
 }
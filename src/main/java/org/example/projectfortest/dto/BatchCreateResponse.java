@@ -0,0 +1,14 @@
+package org.example.projectfortest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.example.projectfortest.entity.Task;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchCreateResponse {
+    private List<Task> created;
+    private List<BatchItemError> errors;
+}
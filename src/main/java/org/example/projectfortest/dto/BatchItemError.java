@@ -0,0 +1,12 @@
+package org.example.projectfortest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItemError {
+    private int index;
+    private String field;
+    private String message;
+}
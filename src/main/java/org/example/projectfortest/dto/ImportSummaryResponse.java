@@ -0,0 +1,15 @@
+package org.example.projectfortest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ImportSummaryResponse {
+    private long processed;
+    private long imported;
+    private long failed;
+    private List<BatchItemError> errors;
+}
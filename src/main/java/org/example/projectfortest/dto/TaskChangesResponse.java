@@ -0,0 +1,17 @@
+package org.example.projectfortest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class TaskChangesResponse {
+    private List<TaskView> changed;
+    private List<UUID> deleted;
+    private String syncToken;
+    private boolean fullResync;
+    private String nextCursor;
+}
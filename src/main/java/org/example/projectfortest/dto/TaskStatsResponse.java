@@ -0,0 +1,19 @@
+package org.example.projectfortest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class TaskStatsResponse {
+    private long total;
+    private long overdue;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<Category, Long> byCategory;
+    private Map<Priority, Long> byPriority;
+}
@@ -0,0 +1,29 @@
+package org.example.projectfortest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class TaskView {
+    private UUID id;
+    private String title;
+    private String description;
+    private LocalDateTime dueDate;
+    private Priority priority;
+    private TaskStatus status;
+    private Category category;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long version;
+
+    public boolean isOverdue() {
+        return dueDate != null && dueDate.isBefore(LocalDateTime.now()) && status != TaskStatus.DONE;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.projectfortest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class UserResponse {
+    private String id;
+    private String email;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,37 @@
+package org.example.projectfortest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "familyId"),
+        @Index(name = "idx_refresh_tokens_user_id", columnList = "userId"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expiresAt")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshToken {
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String familyId;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private boolean used;
+
+    @Column(nullable = false)
+    private boolean revoked;
+}
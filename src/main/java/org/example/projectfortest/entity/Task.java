@@ -1,20 +1,33 @@
 package org.example.projectfortest.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import org.example.projectfortest.entity.enums.Category;
 import org.example.projectfortest.entity.enums.Priority;
 import org.example.projectfortest.entity.enums.TaskStatus;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_user_status_due_date", columnList = "user_id, status, due_date"),
+        @Index(name = "idx_tasks_user_category_priority", columnList = "user_id, category, priority"),
+        @Index(name = "idx_tasks_user_due_date", columnList = "user_id, due_date"),
+        @Index(name = "idx_tasks_user_created_at", columnList = "user_id, createdAt, id"),
+        @Index(name = "idx_tasks_due_date", columnList = "due_date"),
+        @Index(name = "idx_tasks_user_updated_at", columnList = "user_id, updatedAt"),
+        @Index(name = "idx_tasks_user_priority_rank", columnList = "user_id, priority_rank, id"),
+        @Index(name = "idx_tasks_user_status_rank", columnList = "user_id, status_rank, id")
+})
 @Data
 public class Task {
     @Id
@@ -33,6 +46,7 @@ public class Task {
     @Column(name = "due_date")
     private LocalDateTime dueDate;
 
+    @NotNull
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Priority priority;
@@ -41,10 +55,28 @@ public class Task {
     @Column(nullable = false)
     private TaskStatus status = TaskStatus.CREATED;
 
+    @NotNull
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Category category;
 
+    /**
+     * Declaration-order rank of {@link #priority}, computed by the database so that sorting
+     * by priority can use an index. Must list the constants in {@link Priority} order.
+     */
+    @JsonIgnore
+    @Column(name = "priority_rank", insertable = false, updatable = false,
+            columnDefinition = "smallint GENERATED ALWAYS AS (CASE priority WHEN 'LOW' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'HIGH' THEN 2 END) STORED")
+    private Integer priorityRank;
+
+    /**
+     * Declaration-order rank of {@link #status}; see {@link #priorityRank}.
+     */
+    @JsonIgnore
+    @Column(name = "status_rank", insertable = false, updatable = false,
+            columnDefinition = "smallint GENERATED ALWAYS AS (CASE status WHEN 'CREATED' THEN 0 WHEN 'IN_PROGRESS' THEN 1 WHEN 'DONE' THEN 2 END) STORED")
+    private Integer statusRank;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonBackReference
@@ -53,6 +85,12 @@ public class Task {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,22 @@
+package org.example.projectfortest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One per-user aggregate, e.g. {@code total}, {@code status:DONE} or {@code category:WORK}.
+ */
+@Entity
+@Table(name = "task_counters")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCounter {
+    @EmbeddedId
+    private TaskCounterId id;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+}
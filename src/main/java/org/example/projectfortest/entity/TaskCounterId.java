@@ -0,0 +1,21 @@
+package org.example.projectfortest.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCounterId implements Serializable {
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "counter_key", nullable = false, length = 40)
+    private String counterKey;
+}
@@ -0,0 +1,30 @@
+package org.example.projectfortest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Marker left behind by a deleted task so sync clients can learn about the deletion.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_user_deleted_at", columnList = "user_id, deletedAt")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskTombstone {
+    @Id
+    private UUID taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
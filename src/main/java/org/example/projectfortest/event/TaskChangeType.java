@@ -0,0 +1,8 @@
+package org.example.projectfortest.event;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -0,0 +1,11 @@
+package org.example.projectfortest.event;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Published by {@code TaskService} after tasks of a user were created, edited,
+ * moved to another status or deleted.
+ */
+public record TaskChangedEvent(String userId, TaskChangeType type, Collection<UUID> taskIds) {
+}
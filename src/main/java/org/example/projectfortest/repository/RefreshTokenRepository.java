@@ -0,0 +1,35 @@
+package org.example.projectfortest.repository;
+
+import org.example.projectfortest.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    @Modifying
+    @Query("update RefreshToken r set r.used = true where r.id = :id and r.used = false")
+    int markUsed(@Param("id") String id);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.familyId in "
+            + "(select t.familyId from RefreshToken t where t.userId = :userId)")
+    int revokeUser(@Param("userId") String userId);
+
+    boolean existsByFamilyIdAndRevokedTrue(String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :now")
+    int deleteExpiredBefore(@Param("now") Instant now);
+}
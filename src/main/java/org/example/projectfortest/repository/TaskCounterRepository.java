@@ -0,0 +1,65 @@
+package org.example.projectfortest.repository;
+
+import org.example.projectfortest.entity.TaskCounter;
+import org.example.projectfortest.entity.TaskCounterId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, TaskCounterId> {
+
+    List<TaskCounter> findByIdUserId(String userId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_counters (user_id, counter_key, task_count) VALUES (:userId, :counterKey, :delta)
+            ON CONFLICT (user_id, counter_key) DO UPDATE SET task_count = task_counters.task_count + EXCLUDED.task_count
+            """, nativeQuery = true)
+    void increment(@Param("userId") String userId, @Param("counterKey") String counterKey, @Param("delta") long delta);
+
+    /**
+     * Inserts the user's {@code total} row with a zero count unless it already exists. Returns 1
+     * to the one transaction that has to initialize the counters; a concurrent caller waits for
+     * that transaction to end and then gets 0.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO task_counters (user_id, counter_key, task_count) VALUES (:userId, 'total', 0)
+            ON CONFLICT (user_id, counter_key) DO NOTHING
+            """, nativeQuery = true)
+    int claimInitialization(@Param("userId") String userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_counters WHERE user_id = :userId", nativeQuery = true)
+    void deleteByUser(@Param("userId") String userId);
+
+    /**
+     * Rebuilds the user's counters from the tasks table; the {@code total} row is written
+     * even for a user without tasks, so its presence marks the counters as initialized.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_counters (user_id, counter_key, task_count)
+            SELECT :userId, 'total', count(*) FROM tasks WHERE user_id = :userId
+            UNION ALL
+            SELECT :userId, k.counter_key, count(*)
+            FROM (
+                SELECT 'status:' || status AS counter_key FROM tasks WHERE user_id = :userId
+                UNION ALL
+                SELECT 'category:' || category FROM tasks WHERE user_id = :userId
+                UNION ALL
+                SELECT 'priority:' || priority FROM tasks WHERE user_id = :userId
+            ) k
+            GROUP BY k.counter_key
+            ON CONFLICT (user_id, counter_key) DO UPDATE SET task_count = EXCLUDED.task_count
+            """, nativeQuery = true)
+    void rebuildForUser(@Param("userId") String userId);
+
+    @Query(value = "SELECT DISTINCT user_id FROM task_counters", nativeQuery = true)
+    List<String> findUserIds();
+}
@@ -1,14 +1,140 @@
 package org.example.projectfortest.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.projectfortest.dto.TaskView;
 import org.example.projectfortest.entity.Task;
 import org.example.projectfortest.entity.User;
+import org.example.projectfortest.repository.projection.DueTask;
+import org.example.projectfortest.repository.projection.EditedTask;
+import org.example.projectfortest.repository.projection.StatusChange;
+import org.example.projectfortest.repository.projection.TaskSearchResult;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task>, TaskViewRepository {
     List<Task> findByUser(User user);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new org.example.projectfortest.dto.TaskView(t.id, t.title, t.description, t.dueDate,
+                   t.priority, t.status, t.category, t.createdAt, t.updatedAt, t.version)
+            from Task t where t.user.id = :userId order by t.createdAt, t.id
+            """)
+    Stream<TaskView> streamViewsByUserId(@Param("userId") String userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new org.example.projectfortest.repository.projection.DueTask(t.id, t.user.id, t.dueDate, t.status)
+            from Task t where t.dueDate >= :from and t.dueDate < :to and t.status <> org.example.projectfortest.entity.enums.TaskStatus.DONE
+            """)
+    Stream<DueTask> streamDueBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+            select new org.example.projectfortest.repository.projection.DueTask(t.id, t.user.id, t.dueDate, t.status)
+            from Task t where t.id in :ids
+            """)
+    List<DueTask> findDueByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("""
+            select count(t) from Task t
+            where t.user.id = :userId and t.dueDate < :now and t.status <> org.example.projectfortest.entity.enums.TaskStatus.DONE
+            """)
+    long countOverdue(@Param("userId") String userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Sets the status of the user's tasks among {@code ids} in a single statement. The rows are
+     * locked before their current status is read, and each updated task is returned with that
+     * previous status.
+     */
+    @Query(value = """
+            UPDATE tasks t
+            SET status = :status, updatedAt = :updatedAt, version = t.version + 1
+            FROM (SELECT id, status FROM tasks WHERE id IN (:ids) AND user_id = :userId FOR UPDATE) o
+            WHERE t.id = o.id
+            RETURNING t.id AS id, o.status AS "previousStatus"
+            """, nativeQuery = true)
+    List<StatusChange> updateStatus(@Param("ids") Collection<UUID> ids, @Param("userId") String userId,
+                                    @Param("status") String status, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Overwrites the editable fields of one of the user's tasks in a single statement, but only
+     * if its version still equals {@code expectedVersion} ({@code null} skips the check). The
+     * CTE locks the row first, so the previous category and priority it returns alongside the
+     * new state are those of the latest committed version rather than the statement snapshot.
+     *
+     * @return the edited task, or empty if it does not exist, belongs to another user or has
+     * been changed since {@code expectedVersion}
+     */
+    @Query(value = """
+            WITH o AS (SELECT id, category, priority FROM tasks WHERE id = :id AND user_id = :userId FOR UPDATE)
+            UPDATE tasks t
+            SET title = :title, description = :description, due_date = :dueDate, priority = :priority,
+                category = :category, updatedAt = :updatedAt, version = t.version + 1
+            FROM o
+            WHERE t.id = o.id
+              AND (CAST(:expectedVersion AS bigint) IS NULL OR t.version = CAST(:expectedVersion AS bigint))
+            RETURNING t.id AS id, t.title AS title, t.description AS description, t.due_date AS "dueDate",
+                      t.priority AS priority, t.status AS status, t.category AS category,
+                      t.createdAt AS "createdAt", t.updatedAt AS "updatedAt", t.version AS version,
+                      o.category AS "previousCategory", o.priority AS "previousPriority"
+            """, nativeQuery = true)
+    Optional<EditedTask> updateIfVersionMatches(@Param("id") UUID id, @Param("userId") String userId,
+                                                @Param("expectedVersion") Long expectedVersion,
+                                                @Param("title") String title, @Param("description") String description,
+                                                @Param("dueDate") LocalDateTime dueDate, @Param("priority") String priority,
+                                                @Param("category") String category, @Param("updatedAt") LocalDateTime updatedAt);
+
+    boolean existsByIdAndUserId(UUID id, String userId);
+
+    /**
+     * Ranked keyword search over the user's tasks using the {@code search_vector} GIN index
+     * plus trigram matching on title and description (see {@code db/task-search.sql}).
+     * Highlights are computed only for the rows that survive the limit, over HTML-escaped text,
+     * so the only markup in them is the {@code <mark>} added around matches.
+     */
+    @Query(value = """
+            SELECT m.id AS id, m.title AS title, m.description AS description, m.due_date AS "dueDate",
+                   m.priority AS priority, m.status AS status, m.category AS category, m.rank AS rank,
+                   ts_headline('simple', e.title, m.query,
+                               'StartSel=<mark>, StopSel=</mark>, HighlightAll=true') AS "titleHighlight",
+                   ts_headline('simple', e.description, m.query,
+                               'StartSel=<mark>, StopSel=</mark>, MaxFragments=2') AS "descriptionHighlight"
+            FROM (
+                SELECT t.id, t.title, t.description, t.due_date, t.priority, t.status, t.category, q.query,
+                       CAST(ts_rank_cd(t.search_vector, q.query) + similarity(t.title, :term) AS double precision) AS rank
+                FROM tasks t, websearch_to_tsquery('simple', :term) AS q(query)
+                WHERE t.user_id = :userId
+                  AND (t.search_vector @@ q.query
+                       OR t.title % :term
+                       OR t.title ILIKE :pattern
+                       OR t.description ILIKE :pattern)
+                ORDER BY rank DESC, t.id
+                LIMIT :limit
+            ) m
+            CROSS JOIN LATERAL (
+                SELECT replace(replace(replace(replace(replace(m.title,
+                           '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '"', '&quot;'), '''', '&#039;') AS title,
+                       replace(replace(replace(replace(replace(coalesce(m.description, ''),
+                           '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '"', '&quot;'), '''', '&#039;') AS description
+            ) e
+            ORDER BY m.rank DESC, m.id
+            """, nativeQuery = true)
+    List<TaskSearchResult> search(@Param("userId") String userId, @Param("term") String term,
+                                  @Param("pattern") String pattern, @Param("limit") int limit);
 }
@@ -0,0 +1,25 @@
+package org.example.projectfortest.repository;
+
+import org.example.projectfortest.entity.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, UUID> {
+
+    @Query("select t.taskId from TaskTombstone t where t.userId = :userId and t.deletedAt > :since")
+    List<UUID> findTaskIdsDeletedAfter(@Param("userId") String userId, @Param("since") LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TaskTombstone t where t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,27 @@
+package org.example.projectfortest.repository;
+
+import org.example.projectfortest.dto.TaskView;
+import org.example.projectfortest.entity.Task;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Read queries that select {@link TaskView} rows directly instead of loading managed
+ * {@link Task} entities.
+ */
+public interface TaskViewRepository {
+
+    /**
+     * Newest-first keyset page: tasks ordered by {@code createdAt} and {@code id} descending,
+     * starting after the {@code createdAt}/{@code id} keys of {@code position}.
+     */
+    Window<TaskView> findViews(Specification<Task> specification, KeysetScrollPosition position, int limit);
+
+    /**
+     * At most {@code limit} matching tasks in the order applied by the specification.
+     */
+    List<TaskView> findViews(Specification<Task> specification, int limit);
+}
@@ -0,0 +1,85 @@
+package org.example.projectfortest.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.example.projectfortest.dto.TaskView;
+import org.example.projectfortest.entity.Task;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class TaskViewRepositoryImpl implements TaskViewRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Window<TaskView> findViews(Specification<Task> specification, KeysetScrollPosition position, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<Task> root = query.from(Task.class);
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = specification.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        Map<String, Object> keys = position.getKeys();
+        if (!keys.isEmpty()) {
+            LocalDateTime createdAt = (LocalDateTime) keys.get("createdAt");
+            UUID id = (UUID) keys.get("id");
+            predicates.add(cb.or(
+                    cb.lessThan(root.get("createdAt"), createdAt),
+                    cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id))));
+        }
+        query.select(view(cb, root))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+        List<TaskView> rows = entityManager.createQuery(query)
+                .setMaxResults(limit + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > limit;
+        List<TaskView> content = hasNext ? rows.subList(0, limit) : rows;
+        return Window.from(content, index -> keysetOf(content.get(index)), hasNext);
+    }
+
+    @Override
+    public List<TaskView> findViews(Specification<Task> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<Task> root = query.from(Task.class);
+        Predicate filter = specification.toPredicate(root, query, cb);
+        query.select(view(cb, root));
+        if (filter != null) {
+            query.where(filter);
+        }
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static Selection<TaskView> view(CriteriaBuilder cb, Root<Task> root) {
+        return cb.construct(TaskView.class,
+                root.get("id"), root.get("title"), root.get("description"), root.get("dueDate"),
+                root.get("priority"), root.get("status"), root.get("category"),
+                root.get("createdAt"), root.get("updatedAt"), root.get("version"));
+    }
+
+    private static ScrollPosition keysetOf(TaskView view) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", view.getCreatedAt());
+        keys.put("id", view.getId());
+        return ScrollPosition.forward(keys);
+    }
+}
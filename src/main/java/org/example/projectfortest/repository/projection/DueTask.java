@@ -0,0 +1,9 @@
+package org.example.projectfortest.repository.projection;
+
+import org.example.projectfortest.entity.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record DueTask(UUID id, String userId, LocalDateTime dueDate, TaskStatus status) {
+}
@@ -0,0 +1,38 @@
+package org.example.projectfortest.repository.projection;
+
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A task as written by a conditional edit, plus the category and priority it had before,
+ * which the per-user counters need.
+ */
+public interface EditedTask {
+    UUID getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    LocalDateTime getDueDate();
+
+    Priority getPriority();
+
+    TaskStatus getStatus();
+
+    Category getCategory();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getVersion();
+
+    Category getPreviousCategory();
+
+    Priority getPreviousPriority();
+}
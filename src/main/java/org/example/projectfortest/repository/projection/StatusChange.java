@@ -0,0 +1,14 @@
+package org.example.projectfortest.repository.projection;
+
+import org.example.projectfortest.entity.enums.TaskStatus;
+
+import java.util.UUID;
+
+/**
+ * A task moved by a bulk status update, with the status it had before.
+ */
+public interface StatusChange {
+    UUID getId();
+
+    TaskStatus getPreviousStatus();
+}
@@ -0,0 +1,34 @@
+package org.example.projectfortest.repository.projection;
+
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ranked search hit. Highlights are HTML-escaped text with matched terms wrapped in {@code <mark>};
+ * {@code title} and {@code description} are the raw values.
+ */
+public interface TaskSearchResult {
+    UUID getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    LocalDateTime getDueDate();
+
+    Priority getPriority();
+
+    TaskStatus getStatus();
+
+    Category getCategory();
+
+    Double getRank();
+
+    String getTitleHighlight();
+
+    String getDescriptionHighlight();
+}
@@ -0,0 +1,124 @@
+package org.example.projectfortest.repository.specification;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import org.example.projectfortest.entity.Task;
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public final class TaskSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+    private static final String DEFAULT_SORT_KEY = "createdAt";
+    private static final Set<String> SORT_KEYS = Set.of("createdAt", "updatedAt", "dueDate", "title", "priority", "status");
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> belongsTo(String userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Task> hasKeyword(String keyword) {
+        if (keyword == null || keyword.isEmpty()) {
+            return null;
+        }
+        String pattern = containsPattern(keyword);
+        return (root, query, cb) -> {
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            return cb.or(
+                    hcb.ilike(root.get("title"), pattern, LIKE_ESCAPE),
+                    hcb.ilike(root.get("description"), pattern, LIKE_ESCAPE));
+        };
+    }
+
+    public static Specification<Task> hasCategory(Category category) {
+        return category == null ? null : (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Task> hasPriority(Priority priority) {
+        return priority == null ? null : (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> updatedAfter(LocalDateTime since) {
+        return since == null ? null : (root, query, cb) -> cb.greaterThan(root.get("updatedAt"), since);
+    }
+
+    public static Specification<Task> isOverdue(Boolean overdue) {
+        if (overdue == null || !overdue) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return (root, query, cb) -> cb.and(
+                cb.lessThan(root.get("dueDate"), now),
+                cb.notEqual(root.get("status"), TaskStatus.DONE));
+    }
+
+    public static Specification<Task> hasIdIn(Collection<UUID> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("id").in(taskIds);
+    }
+
+    /**
+     * Applies a multi-key ORDER BY (e.g. priority, dueDate, createdAt) to the query.
+     * Enum keys are ordered by their stored rank columns, i.e. by declaration order rather
+     * than by name, and the id is always appended so the order is deterministic.
+     */
+    public static Specification<Task> orderedBy(List<String> sortBy, boolean ascending) {
+        List<String> keys = sortBy == null || sortBy.isEmpty()
+                ? List.of(DEFAULT_SORT_KEY)
+                : sortBy.stream().map(String::trim).toList();
+        for (String key : keys) {
+            if (!SORT_KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unsupported sort key: " + key);
+            }
+        }
+        return (root, query, cb) -> {
+            List<Order> orders = new ArrayList<>();
+            for (String key : keys) {
+                Expression<?> expression = root.get(sortAttribute(key));
+                orders.add(ascending ? cb.asc(expression) : cb.desc(expression));
+            }
+            orders.add(ascending ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+            query.orderBy(orders);
+            return null;
+        };
+    }
+
+    private static String sortAttribute(String key) {
+        return switch (key) {
+            case "priority" -> "priorityRank";
+            case "status" -> "statusRank";
+            default -> key;
+        };
+    }
+
+    /**
+     * Builds an escaped {@code %keyword%} pattern for LIKE/ILIKE matching.
+     */
+    public static String containsPattern(String keyword) {
+        return "%" + escapeLike(keyword) + "%";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.projectfortest.scheduling;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.event.TaskChangeType;
+import org.example.projectfortest.event.TaskChangedEvent;
+import org.example.projectfortest.repository.TaskRepository;
+import org.example.projectfortest.repository.projection.DueTask;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Fires {@link TaskDueEvent}s to all {@link TaskDueListener} beans: a reminder
+ * {@code reminder-lead} before a task is due and an overdue event when the due date passes.
+ * <p>
+ * Only tasks due before a moving horizon are held in the timing wheel. The horizon is
+ * extended one window at a time with a range query on {@code due_date}, and task changes
+ * reschedule just the affected tasks, so the table is never scanned as a whole.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tasks.due-date.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class DueDateScheduler {
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final TaskRepository taskRepository;
+    private final List<TaskDueListener> listeners;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long tickMillis;
+    private final long windowMillis;
+    private final long reminderLeadMillis;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private volatile HierarchicalTimingWheel<DueKey, TaskDueEvent> wheel;
+    private volatile long loadedUntil;
+    private ScheduledExecutorService ticker;
+
+    public DueDateScheduler(TaskRepository taskRepository, ObjectProvider<TaskDueListener> listeners,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${tasks.due-date.tick:1s}") Duration tick,
+                            @Value("${tasks.due-date.window:1h}") Duration window,
+                            @Value("${tasks.due-date.reminder-lead:1h}") Duration reminderLead) {
+        this.taskRepository = taskRepository;
+        this.listeners = listeners.orderedStream().toList();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.tickMillis = tick.toMillis();
+        this.windowMillis = window.toMillis();
+        this.reminderLeadMillis = reminderLead.toMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        start(System.currentTimeMillis());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("due-date-scheduler-");
+        threadFactory.setDaemon(true);
+        ticker = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        ticker.scheduleAtFixedRate(() -> tick(System.currentTimeMillis()), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        HierarchicalTimingWheel<DueKey, TaskDueEvent> current = wheel;
+        if (current == null || event.taskIds().isEmpty()) {
+            return;
+        }
+        Set<UUID> missing = new HashSet<>(event.taskIds());
+        if (event.type() != TaskChangeType.DELETED) {
+            long now = System.currentTimeMillis();
+            for (DueTask task : taskRepository.findDueByIdIn(event.taskIds())) {
+                missing.remove(task.id());
+                schedule(task, now, true);
+            }
+        }
+        for (UUID taskId : missing) {
+            current.cancel(new DueKey(taskId, TaskDueEventType.REMINDER));
+            current.cancel(new DueKey(taskId, TaskDueEventType.OVERDUE));
+        }
+    }
+
+    public int scheduledCount() {
+        HierarchicalTimingWheel<DueKey, TaskDueEvent> current = wheel;
+        return current == null ? 0 : current.size();
+    }
+
+    void start(long nowMillis) {
+        wheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, nowMillis);
+        loadedUntil = nowMillis;
+        loadWindow(nowMillis, false);
+    }
+
+    void tick(long nowMillis) {
+        try {
+            if (nowMillis + reminderLeadMillis + windowMillis >= loadedUntil) {
+                loadWindow(nowMillis, true);
+            }
+            wheel.advanceTo(nowMillis, (key, event) -> fire(event));
+        } catch (RuntimeException e) {
+            log.warn("Due-date scheduler tick failed", e);
+        }
+    }
+
+    private void loadWindow(long nowMillis, boolean fireLate) {
+        LocalDateTime from = toLocalDateTime(loadedUntil);
+        long until = nowMillis + reminderLeadMillis + 2 * windowMillis;
+        // Moved first, so tasks committed while the window loads are scheduled by onTaskChanged.
+        loadedUntil = until;
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<DueTask> tasks = taskRepository.streamDueBetween(from, toLocalDateTime(until))) {
+                tasks.forEach(task -> schedule(task, nowMillis, fireLate));
+            }
+        });
+    }
+
+    private void schedule(DueTask task, long nowMillis, boolean fireLate) {
+        DueKey reminderKey = new DueKey(task.id(), TaskDueEventType.REMINDER);
+        DueKey overdueKey = new DueKey(task.id(), TaskDueEventType.OVERDUE);
+        if (task.status() == TaskStatus.DONE || task.dueDate() == null) {
+            wheel.cancel(reminderKey);
+            wheel.cancel(overdueKey);
+            return;
+        }
+        long dueMillis = task.dueDate().atZone(zone).toInstant().toEpochMilli();
+        if (dueMillis >= loadedUntil) {
+            wheel.cancel(reminderKey);
+            wheel.cancel(overdueKey);
+            return;
+        }
+        TaskDueEvent overdue = new TaskDueEvent(task.id(), task.userId(), TaskDueEventType.OVERDUE, task.dueDate());
+        if (!wheel.schedule(overdueKey, dueMillis, overdue) && fireLate) {
+            fireLater(overdue);
+        }
+        if (dueMillis > nowMillis) {
+            TaskDueEvent reminder = new TaskDueEvent(task.id(), task.userId(), TaskDueEventType.REMINDER, task.dueDate());
+            if (!wheel.schedule(reminderKey, dueMillis - reminderLeadMillis, reminder) && fireLate) {
+                fireLater(reminder);
+            }
+        } else {
+            wheel.cancel(reminderKey);
+        }
+    }
+
+    private void fireLater(TaskDueEvent event) {
+        if (ticker != null) {
+            ticker.execute(() -> fire(event));
+        } else {
+            fire(event);
+        }
+    }
+
+    private void fire(TaskDueEvent event) {
+        for (TaskDueListener listener : listeners) {
+            try {
+                listener.onTaskDue(event);
+            } catch (RuntimeException e) {
+                log.warn("Task due listener {} failed for task {}", listener.getClass().getSimpleName(), event.taskId(), e);
+            }
+        }
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    private record DueKey(UUID taskId, TaskDueEventType type) {
+    }
+}
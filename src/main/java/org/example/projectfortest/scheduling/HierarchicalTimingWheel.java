@@ -0,0 +1,177 @@
+package org.example.projectfortest.scheduling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Hierarchical timing wheel: level {@code i} has {@code wheelSize} buckets of
+ * {@code tickMillis * wheelSize^i} each. Scheduling and cancelling are O(1); an entry is
+ * moved down a level when the clock reaches its bucket, so it is touched at most once per
+ * level before it fires. Deadlines are rounded up to the tick, so entries never fire early.
+ * Deadlines past the top level wrap around and are re-examined on every full rotation.
+ *
+ * @param <K> key identifying an entry; scheduling an existing key replaces it
+ * @param <V> payload handed back when the entry fires
+ */
+public class HierarchicalTimingWheel<K, V> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] bucketSpans;
+    private final List<List<Set<Entry<K, V>>>> levels;
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTime;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.bucketSpans = new long[levelCount];
+        this.levels = new ArrayList<>(levelCount);
+        long span = tickMillis;
+        for (int level = 0; level < levelCount; level++) {
+            bucketSpans[level] = span;
+            List<Set<Entry<K, V>>> buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new LinkedHashSet<>());
+            }
+            levels.add(buckets);
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules {@code value} under {@code key}, replacing any earlier entry for the key.
+     *
+     * @return {@code false} if the deadline is not after the current tick; nothing is
+     * scheduled then and the caller should handle the entry as already due
+     */
+    public boolean schedule(K key, long deadlineMillis, V value) {
+        lock.lock();
+        try {
+            remove(key);
+            long deadline = roundUp(deadlineMillis);
+            if (deadline <= currentTime) {
+                return false;
+            }
+            Entry<K, V> entry = new Entry<>(key, deadline, value);
+            entries.put(key, entry);
+            place(entry);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean cancel(K key) {
+        lock.lock();
+        try {
+            return remove(key) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the clock forward tick by tick up to {@code nowMillis} and collects every entry
+     * whose deadline was reached. The handler runs after the wheel lock is released, so it
+     * may schedule or cancel entries itself.
+     */
+    public void advanceTo(long nowMillis, BiConsumer<K, V> handler) {
+        List<Entry<K, V>> due = new ArrayList<>();
+        lock.lock();
+        try {
+            while (currentTime + tickMillis <= nowMillis) {
+                currentTime += tickMillis;
+                for (int level = levels.size() - 1; level > 0; level--) {
+                    if (currentTime % bucketSpans[level] == 0) {
+                        for (Entry<K, V> entry : drain(level, currentTime)) {
+                            if (entry.deadline <= currentTime) {
+                                due.add(entry);
+                            } else {
+                                place(entry);
+                            }
+                        }
+                    }
+                }
+                due.addAll(drain(0, currentTime));
+            }
+            due.forEach(entry -> entries.remove(entry.key));
+        } finally {
+            lock.unlock();
+        }
+        due.forEach(entry -> handler.accept(entry.key, entry.value));
+    }
+
+    private void place(Entry<K, V> entry) {
+        long delay = entry.deadline - currentTime;
+        int level = 0;
+        while (level < levels.size() - 1 && delay >= bucketSpans[level + 1]) {
+            level++;
+        }
+        Set<Entry<K, V>> bucket = levels.get(level).get(bucketIndex(level, entry.deadline));
+        bucket.add(entry);
+        entry.bucket = bucket;
+    }
+
+    private List<Entry<K, V>> drain(int level, long time) {
+        Set<Entry<K, V>> bucket = levels.get(level).get(bucketIndex(level, time));
+        if (bucket.isEmpty()) {
+            return List.of();
+        }
+        List<Entry<K, V>> drained = new ArrayList<>(bucket);
+        bucket.clear();
+        drained.forEach(entry -> entry.bucket = null);
+        return drained;
+    }
+
+    private Entry<K, V> remove(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry != null && entry.bucket != null) {
+            entry.bucket.remove(entry);
+            entry.bucket = null;
+        }
+        return entry;
+    }
+
+    private int bucketIndex(int level, long time) {
+        return (int) Math.floorMod(time / bucketSpans[level], (long) wheelSize);
+    }
+
+    private long roundUp(long millis) {
+        long remainder = Math.floorMod(millis, tickMillis);
+        return remainder == 0 ? millis : millis - remainder + tickMillis;
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final long deadline;
+        private final V value;
+        private Set<Entry<K, V>> bucket;
+
+        private Entry(K key, long deadline, V value) {
+            this.key = key;
+            this.deadline = deadline;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.projectfortest.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Fired by {@link DueDateScheduler} when a task is about to be due or has just become overdue.
+ */
+public record TaskDueEvent(UUID taskId, String userId, TaskDueEventType type, LocalDateTime dueDate) {
+}
@@ -0,0 +1,6 @@
+package org.example.projectfortest.scheduling;
+
+public enum TaskDueEventType {
+    REMINDER,
+    OVERDUE
+}
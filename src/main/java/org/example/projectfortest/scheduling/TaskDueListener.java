@@ -0,0 +1,10 @@
+package org.example.projectfortest.scheduling;
+
+/**
+ * Receives due-date events from {@link DueDateScheduler}. Every bean implementing this
+ * interface is called on the scheduler thread, so implementations should hand slow work off.
+ */
+public interface TaskDueListener {
+
+    void onTaskDue(TaskDueEvent event);
+}
@@ -0,0 +1,8 @@
+package org.example.projectfortest.service;
+
+/**
+ * The identity fields of a user kept in {@link UserCache}; deliberately excludes the password
+ * hash and the task collection.
+ */
+public record CachedUser(String id, String email) {
+}
@@ -0,0 +1,23 @@
+package org.example.projectfortest.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.projectfortest.config.UserPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CurrentUserProvider {
+    private final UserCache userCache;
+
+    public String getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof UserPrincipal principal && principal.id() != null) {
+            return principal.id();
+        }
+        return userCache.findByEmail(authentication.getName())
+                .map(CachedUser::id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
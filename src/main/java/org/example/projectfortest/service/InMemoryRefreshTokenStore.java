@@ -0,0 +1,92 @@
+package org.example.projectfortest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Refresh tokens kept in a Caffeine map; each entry expires together with its token.
+ * Lookups and the used flag flip are lock-striped map operations, so no request contends
+ * on a shared lock. Tokens are lost on restart and users have to log in again.
+ * <p>
+ * Evicting a token only makes it unusable, so {@code tokens} is size-bounded. Revoked families
+ * are bounded by time alone: evicting one early would make its tokens valid again.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Cache<String, StoredRefreshToken> tokens;
+    private final Cache<String, Boolean> revokedFamilies;
+
+    public InMemoryRefreshTokenStore(@Value("${jwt.refresh.store-maximum-size:100000}") long maximumSize,
+                                     @Value("${jwt.refresh.expiration}") long refreshTokenValidity) {
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireWithToken())
+                .build();
+        this.revokedFamilies = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(refreshTokenValidity))
+                .build();
+    }
+
+    @Override
+    public void save(StoredRefreshToken token) {
+        tokens.put(token.tokenId(), token);
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> markUsed(String tokenId) {
+        AtomicReference<StoredRefreshToken> previous = new AtomicReference<>();
+        tokens.asMap().computeIfPresent(tokenId, (id, token) -> {
+            previous.set(token);
+            return token.markUsed();
+        });
+        return Optional.ofNullable(previous.get());
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        revokedFamilies.put(familyId, Boolean.TRUE);
+    }
+
+    @Override
+    public void revokeUser(String userId) {
+        tokens.asMap().values().stream()
+                .filter(token -> token.userId().equals(userId))
+                .map(StoredRefreshToken::familyId)
+                .distinct()
+                .forEach(this::revokeFamily);
+    }
+
+    @Override
+    public boolean isFamilyRevoked(String familyId) {
+        return revokedFamilies.getIfPresent(familyId) != null;
+    }
+
+    private static class ExpireWithToken implements Expiry<String, StoredRefreshToken> {
+
+        @Override
+        public long expireAfterCreate(String key, StoredRefreshToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, StoredRefreshToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, StoredRefreshToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.projectfortest.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.projectfortest.entity.RefreshToken;
+import org.example.projectfortest.repository.RefreshTokenRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Refresh tokens persisted in {@code refresh_tokens}, so sessions survive restarts and are
+ * shared between instances. Enabled with {@code jwt.refresh.store=jpa}. Every method runs in a
+ * read-write transaction, so replica routing never serves a revocation check from a lagging
+ * replica; {@code /api/auth/refresh} has no principal for the read-your-writes window to apply to.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "jpa")
+@RequiredArgsConstructor
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    @Transactional
+    public void save(StoredRefreshToken token) {
+        refreshTokenRepository.save(new RefreshToken(token.tokenId(), token.familyId(), token.userId(),
+                token.expiresAt(), token.used(), false));
+    }
+
+    @Override
+    @Transactional
+    public Optional<StoredRefreshToken> markUsed(String tokenId) {
+        boolean firstUse = refreshTokenRepository.markUsed(tokenId) == 1;
+        return refreshTokenRepository.findById(tokenId)
+                .map(token -> new StoredRefreshToken(token.getId(), token.getFamilyId(), token.getUserId(),
+                        token.getExpiresAt(), !firstUse));
+    }
+
+    @Override
+    @Transactional
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId);
+    }
+
+    @Override
+    @Transactional
+    public void revokeUser(String userId) {
+        refreshTokenRepository.revokeUser(userId);
+    }
+
+    @Override
+    @Transactional
+    public boolean isFamilyRevoked(String familyId) {
+        return refreshTokenRepository.existsByFamilyIdAndRevokedTrue(familyId);
+    }
+
+    /**
+     * Expired tokens are already rejected when the JWT is verified, so their rows are dead weight.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval:1h}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpiredBefore(Instant.now());
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.projectfortest.service;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.annotation.Timed;
+import org.example.projectfortest.config.JwtTokenProvider;
+import org.example.projectfortest.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Issues refresh tokens and exchanges them for a new access/refresh pair. Every refresh
+ * token is single use: presenting one that was already exchanged means it leaked, so the
+ * whole family minted from that login is revoked.
+ */
+@Service
+@Timed(value = "auth.service", histogram = true)
+public class RefreshTokenService {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenStore refreshTokenStore;
+    private final long refreshTokenValidity;
+
+    public RefreshTokenService(JwtTokenProvider jwtTokenProvider, RefreshTokenStore refreshTokenStore,
+                               @Value("${jwt.refresh.expiration}") long refreshTokenValidity) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.refreshTokenStore = refreshTokenStore;
+        this.refreshTokenValidity = refreshTokenValidity;
+    }
+
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    public Map<String, String> refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw unauthorized("Invalid refresh token");
+        }
+        DecodedJWT decoded = jwtTokenProvider.verifyRefreshToken(refreshToken)
+                .orElseThrow(() -> unauthorized("Invalid refresh token"));
+        StoredRefreshToken stored = refreshTokenStore.markUsed(decoded.getId())
+                .orElseThrow(() -> unauthorized("Invalid refresh token"));
+        if (stored.used()) {
+            refreshTokenStore.revokeFamily(stored.familyId());
+            throw unauthorized("Refresh token has already been used");
+        }
+        if (refreshTokenStore.isFamilyRevoked(stored.familyId())) {
+            throw unauthorized("Refresh token has been revoked");
+        }
+
+        User user = User.builder().id(stored.userId()).email(decoded.getSubject()).build();
+        Map<String, String> tokens = new HashMap<>();
+        tokens.put("accessToken", jwtTokenProvider.generateAccessToken(user));
+        tokens.put("refreshToken", issue(user, stored.familyId()));
+        return tokens;
+    }
+
+    /**
+     * Invalidates every refresh token issued to the user; their next refresh is rejected.
+     */
+    public void revokeAll(String userId) {
+        refreshTokenStore.revokeUser(userId);
+    }
+
+    private String issue(User user, String familyId) {
+        String tokenId = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plusMillis(refreshTokenValidity);
+        refreshTokenStore.save(new StoredRefreshToken(tokenId, familyId, user.getId(), expiresAt, false));
+        return jwtTokenProvider.generateRefreshToken(user, tokenId, familyId, expiresAt);
+    }
+
+    private static ResponseStatusException unauthorized(String message) {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, message);
+    }
+}
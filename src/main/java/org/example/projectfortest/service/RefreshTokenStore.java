@@ -0,0 +1,23 @@
+package org.example.projectfortest.service;
+
+import java.util.Optional;
+
+public interface RefreshTokenStore {
+
+    void save(StoredRefreshToken token);
+
+    /**
+     * Atomically marks the token as used and returns its state from before the call, so
+     * exactly one caller ever sees {@code used == false} for a given token.
+     */
+    Optional<StoredRefreshToken> markUsed(String tokenId);
+
+    void revokeFamily(String familyId);
+
+    /**
+     * Revokes every family that has a token issued to the user, e.g. after a password reset.
+     */
+    void revokeUser(String userId);
+
+    boolean isFamilyRevoked(String familyId);
+}
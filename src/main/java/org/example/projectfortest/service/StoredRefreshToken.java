@@ -0,0 +1,14 @@
+package org.example.projectfortest.service;
+
+import java.time.Instant;
+
+/**
+ * Server-side state of one issued refresh token. Tokens minted by rotating the same login
+ * share a {@code familyId}; {@code used} flips once the token has been exchanged.
+ */
+public record StoredRefreshToken(String tokenId, String familyId, String userId, Instant expiresAt, boolean used) {
+
+    public StoredRefreshToken markUsed() {
+        return new StoredRefreshToken(tokenId, familyId, userId, expiresAt, true);
+    }
+}
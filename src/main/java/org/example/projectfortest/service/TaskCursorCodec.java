@@ -0,0 +1,47 @@
+package org.example.projectfortest.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Encodes the (createdAt, id) keyset of the last task on a page into an opaque cursor
+ * and back into a {@link ScrollPosition} for the next page.
+ */
+final class TaskCursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private TaskCursorCodec() {
+    }
+
+    static String encode(LocalDateTime createdAt, UUID id) {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("createdAt", LocalDateTime.parse(raw.substring(0, separator)));
+            keys.put("id", UUID.fromString(raw.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
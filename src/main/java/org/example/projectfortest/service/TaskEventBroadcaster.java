@@ -0,0 +1,187 @@
+package org.example.projectfortest.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.projectfortest.event.TaskChangedEvent;
+import org.example.projectfortest.scheduling.TaskDueEvent;
+import org.example.projectfortest.scheduling.TaskDueListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes task changes to the user's open {@code /task/events} streams.
+ * <p>
+ * Publishing only offers the event to each subscriber's bounded queue and never writes to
+ * a socket. A subscriber whose queue is full has its backlog replaced by one
+ * {@code resync} event, telling the client to reload its list instead of replaying changes;
+ * events published while that resync is still pending are dropped, as the reload covers them.
+ * Queues are drained one at a time per subscriber, each drain on its own thread from Boot's
+ * {@link SimpleAsyncTaskExecutorBuilder}, which makes them virtual threads when
+ * {@code spring.threads.virtual.enabled} is set.
+ */
+@Slf4j
+@Component
+public class TaskEventBroadcaster implements TaskDueListener {
+    private static final Outgoing RESYNC = new Outgoing("resync", Map.of());
+    private static final Outgoing PING = new Outgoing(null, null);
+
+    private final CurrentUserProvider currentUserProvider;
+    private final Map<String, ConcurrentLinkedDeque<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final SimpleAsyncTaskExecutor senders;
+    private final ScheduledExecutorService heartbeat;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final int maxPerUser;
+
+    public TaskEventBroadcaster(CurrentUserProvider currentUserProvider,
+                                @Value("${tasks.events.timeout:30m}") Duration timeout,
+                                @Value("${tasks.events.queue-capacity:64}") int queueCapacity,
+                                @Value("${tasks.events.max-subscribers-per-user:5}") int maxPerUser,
+                                @Value("${tasks.events.heartbeat:25s}") Duration heartbeatInterval,
+                                SimpleAsyncTaskExecutorBuilder taskExecutorBuilder) {
+        this.currentUserProvider = currentUserProvider;
+        this.senders = taskExecutorBuilder.threadNamePrefix("task-events-").build();
+        this.timeoutMillis = timeout.toMillis();
+        this.queueCapacity = queueCapacity;
+        this.maxPerUser = maxPerUser;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("task-events-heartbeat-");
+        threadFactory.setDaemon(true);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = heartbeatInterval.toMillis();
+        this.heartbeat.scheduleAtFixedRate(this::ping, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(currentUserProvider.getCurrentUserId());
+    }
+
+    SseEmitter subscribe(String userId) {
+        return subscribe(userId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(String userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(queueCapacity));
+        ConcurrentLinkedDeque<Subscriber> userSubscribers = subscribers.computeIfAbsent(userId, k -> new ConcurrentLinkedDeque<>());
+        userSubscribers.addLast(subscriber);
+        while (userSubscribers.size() > maxPerUser) {
+            Subscriber oldest = userSubscribers.pollFirst();
+            if (oldest != null) {
+                oldest.emitter.complete();
+            }
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        enqueue(subscriber, new Outgoing("ready", Map.of()));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        publish(event.userId(), new Outgoing("task-changed",
+                Map.of("type", event.type(), "taskIds", event.taskIds())));
+    }
+
+    @Override
+    public void onTaskDue(TaskDueEvent event) {
+        publish(event.userId(), new Outgoing("task-due",
+                Map.of("type", event.type(), "taskId", event.taskId(), "dueDate", event.dueDate())));
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(ConcurrentLinkedDeque::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.values().forEach(queue -> queue.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.close();
+    }
+
+    private void publish(String userId, Outgoing outgoing) {
+        Queue<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            enqueue(subscriber, outgoing);
+        }
+    }
+
+    private void ping() {
+        subscribers.values().forEach(queue -> queue.forEach(subscriber -> {
+            if (subscriber.queue.isEmpty()) {
+                enqueue(subscriber, PING);
+            }
+        }));
+    }
+
+    private void enqueue(Subscriber subscriber, Outgoing outgoing) {
+        if (subscriber.queue.peek() != RESYNC && !subscriber.queue.offer(outgoing)) {
+            do {
+                subscriber.queue.clear();
+            } while (!subscriber.queue.offer(RESYNC));
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Outgoing outgoing;
+            while ((outgoing = subscriber.queue.poll()) != null) {
+                if (outgoing == PING) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(outgoing.name()).data(outgoing.data(), MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping task event subscriber of user {}: {}", subscriber.userId, e.getMessage());
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (userId, queue) -> {
+            queue.remove(subscriber);
+            return queue.isEmpty() ? null : queue;
+        });
+    }
+
+    private record Outgoing(String name, Object data) {
+    }
+
+    private record Subscriber(String userId, SseEmitter emitter, Queue<Outgoing> queue, AtomicBoolean draining) {
+        private Subscriber(String userId, SseEmitter emitter, Queue<Outgoing> queue) {
+            this(userId, emitter, queue, new AtomicBoolean());
+        }
+    }
+}
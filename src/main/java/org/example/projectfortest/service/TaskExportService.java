@@ -0,0 +1,100 @@
+package org.example.projectfortest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import org.example.projectfortest.dto.TaskView;
+import org.example.projectfortest.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams all tasks of the current user row by row, so memory use does not depend on
+ * the number of tasks and the first bytes are sent before the query has finished. Rows are
+ * read as {@link TaskView} projections, so nothing accumulates in the persistence context.
+ */
+@Service
+@Timed(value = "tasks.service", histogram = true)
+public class TaskExportService {
+    private static final String CSV_HEADER = "id,title,description,status,priority,category,dueDate,createdAt,updatedAt\n";
+
+    private final TaskRepository taskRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final ObjectWriter taskWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TaskExportService(TaskRepository taskRepository, CurrentUserProvider currentUserProvider,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.taskWriter = objectMapper.writerFor(TaskView.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportTasks(TaskExportFormat format) {
+        String userId = currentUserProvider.getCurrentUserId();
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TaskView> tasks = taskRepository.streamViewsByUserId(userId)) {
+                write(tasks.iterator(), format, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void write(Iterator<TaskView> tasks, TaskExportFormat format, OutputStream out) throws IOException {
+        if (format == TaskExportFormat.CSV) {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+        boolean first = true;
+        while (tasks.hasNext()) {
+            TaskView task = tasks.next();
+            if (format == TaskExportFormat.CSV) {
+                out.write(toCsvLine(task).getBytes(StandardCharsets.UTF_8));
+            } else {
+                out.write(taskWriter.writeValueAsBytes(task));
+                out.write('\n');
+            }
+            if (first) {
+                out.flush();
+                first = false;
+            }
+        }
+        out.flush();
+    }
+
+    private static String toCsvLine(TaskView task) {
+        return String.join(",",
+                csv(task.getId()),
+                csv(task.getTitle()),
+                csv(task.getDescription()),
+                csv(task.getStatus()),
+                csv(task.getPriority()),
+                csv(task.getCategory()),
+                csv(task.getDueDate()),
+                csv(task.getCreatedAt()),
+                csv(task.getUpdatedAt())) + "\n";
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,294 @@
+package org.example.projectfortest.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.projectfortest.dto.BatchItemError;
+import org.example.projectfortest.dto.ImportSummaryResponse;
+import org.example.projectfortest.entity.Task;
+import org.example.projectfortest.entity.User;
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.event.TaskChangeType;
+import org.example.projectfortest.event.TaskChangedEvent;
+import org.example.projectfortest.repository.TaskRepository;
+import org.example.projectfortest.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports tasks from an NDJSON or CSV stream. Rows are parsed one at a time and written
+ * in chunks, each chunk in its own transaction, so memory use does not depend on the
+ * file size and a failing chunk does not roll back the chunks already committed.
+ */
+@Service
+@Timed(value = "tasks.service", histogram = true)
+public class TaskImportService {
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TaskStatsService taskStatsService;
+    private final CurrentUserProvider currentUserProvider;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader taskReader;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public TaskImportService(TaskRepository taskRepository, UserRepository userRepository,
+                             TaskStatsService taskStatsService, CurrentUserProvider currentUserProvider, EntityManager entityManager,
+                             Validator validator, ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                             @Value("${tasks.import.chunk-size:500}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.taskStatsService = taskStatsService;
+        this.currentUserProvider = currentUserProvider;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.taskReader = objectMapper.readerFor(Task.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportSummaryResponse importTasks(InputStream input, TaskExportFormat format) {
+        ImportProgress progress = new ImportProgress(currentUserProvider.getCurrentUserId());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == TaskExportFormat.CSV) {
+                readCsv(reader, progress);
+            } else {
+                readNdjson(reader, progress);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writeChunk(progress);
+        return new ImportSummaryResponse(progress.processed, progress.imported, progress.failed, progress.errors);
+    }
+
+    private void readNdjson(BufferedReader reader, ImportProgress progress) throws IOException {
+        String line;
+        int row = 0;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                accept(taskReader.readValue(line), row, progress);
+            } catch (JsonProcessingException e) {
+                progress.reject(row, null, e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportProgress progress) throws IOException {
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        int row = 1;
+        List<String> record;
+        while ((record = readCsvRecord(reader)) != null) {
+            row++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                accept(toTask(record, columns), row, progress);
+            } catch (IllegalArgumentException e) {
+                progress.reject(row, null, e.getMessage());
+            }
+        }
+    }
+
+    private void accept(Task task, int row, ImportProgress progress) {
+        if (task == null) {
+            progress.reject(row, null, "must not be null");
+            return;
+        }
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (!violations.isEmpty()) {
+            for (ConstraintViolation<Task> violation : violations) {
+                progress.error(row, violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            progress.processed++;
+            progress.failed++;
+            return;
+        }
+        task.setId(null);
+        if (task.getStatus() == null) {
+            task.setStatus(TaskStatus.CREATED);
+        }
+        progress.processed++;
+        progress.chunk.add(task);
+        progress.chunkRows.add(row);
+        if (progress.chunk.size() >= chunkSize) {
+            writeChunk(progress);
+        }
+    }
+
+    private void writeChunk(ImportProgress progress) {
+        if (progress.chunk.isEmpty()) {
+            return;
+        }
+        List<Task> chunk = progress.chunk;
+        try {
+            List<UUID> ids = transactionTemplate.execute(status -> {
+                User user = userRepository.getReferenceById(progress.userId);
+                chunk.forEach(task -> task.setUser(user));
+                List<Task> saved = taskRepository.saveAll(chunk);
+                taskStatsService.onTasksCreated(progress.userId, saved);
+                List<UUID> savedIds = saved.stream().map(Task::getId).toList();
+                entityManager.flush();
+                entityManager.clear();
+                return savedIds;
+            });
+            progress.imported += ids.size();
+            eventPublisher.publishEvent(new TaskChangedEvent(progress.userId, TaskChangeType.CREATED, ids));
+        } catch (RuntimeException e) {
+            progress.failed += chunk.size();
+            progress.error(progress.chunkRows.get(0), null, "Rows " + progress.chunkRows.get(0) + "-"
+                    + progress.chunkRows.get(progress.chunkRows.size() - 1) + " were not imported: " + e.getMessage());
+        }
+        progress.chunk = new ArrayList<>(chunkSize);
+        progress.chunkRows = new ArrayList<>(chunkSize);
+    }
+
+    private static Task toTask(List<String> record, Map<String, Integer> columns) {
+        Task task = new Task();
+        task.setTitle(column(record, columns, "title"));
+        task.setDescription(column(record, columns, "description"));
+        String dueDate = column(record, columns, "dueDate");
+        if (dueDate != null) {
+            try {
+                task.setDueDate(LocalDateTime.parse(dueDate));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid dueDate: " + dueDate);
+            }
+        }
+        String priority = column(record, columns, "priority");
+        if (priority != null) {
+            task.setPriority(Priority.valueOf(priority.toUpperCase(Locale.ROOT)));
+        }
+        String category = column(record, columns, "category");
+        if (category != null) {
+            task.setCategory(Category.valueOf(category.toUpperCase(Locale.ROOT)));
+        }
+        String status = column(record, columns, "status");
+        if (status != null) {
+            task.setStatus(TaskStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+        }
+        return task;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads one RFC 4180 record; quoted fields may contain separators, doubled quotes and line breaks.
+     */
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            line = reader.readLine();
+            if (line == null) {
+                break;
+            }
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private final class ImportProgress {
+        private final String userId;
+        private final List<BatchItemError> errors = new ArrayList<>();
+        private List<Task> chunk = new ArrayList<>(chunkSize);
+        private List<Integer> chunkRows = new ArrayList<>(chunkSize);
+        private long processed;
+        private long imported;
+        private long failed;
+
+        private ImportProgress(String userId) {
+            this.userId = userId;
+        }
+
+        private void reject(int row, String field, String message) {
+            processed++;
+            failed++;
+            error(row, field, message);
+        }
+
+        private void error(int row, String field, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BatchItemError(row, field, message));
+            }
+        }
+    }
+}
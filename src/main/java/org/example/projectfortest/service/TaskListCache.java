@@ -0,0 +1,91 @@
+package org.example.projectfortest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.projectfortest.dto.CursorPageResponse;
+import org.example.projectfortest.dto.TaskView;
+import org.example.projectfortest.event.TaskChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of task list pages per user.
+ * <p>
+ * Pages are keyed by the user's current generation; a write moves the user to a new
+ * generation, so pages loaded before the write are never served again and simply age out.
+ * Generations are drawn from one global sequence, so a user whose generation was evicted
+ * can never get an old number back. Prefixed with a per-process nonce, the generation also
+ * serves as the user's list version for HTTP validators.
+ */
+@Component
+public class TaskListCache implements MeterBinder {
+
+    private final String instanceNonce = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong generationSequence = new AtomicLong();
+    private final Cache<String, Long> generations;
+    private final Cache<PageKey, CursorPageResponse<TaskView>> pages;
+
+    public TaskListCache(@Value("${cache.tasks.maximum-size:10000}") long maximumSize,
+                         @Value("${cache.tasks.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterWrite.multipliedBy(2))
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public CursorPageResponse<TaskView> get(String userId, String cursor, int limit, Supplier<CursorPageResponse<TaskView>> loader) {
+        PageKey key = new PageKey(userId, generation(userId), cursor, limit);
+        CursorPageResponse<TaskView> cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Loaded outside Caffeine's compute, which would hold a map lock (and pin a virtual
+        // thread's carrier) for the whole database round trip.
+        CursorPageResponse<TaskView> page = loader.get();
+        pages.put(key, page);
+        return page;
+    }
+
+    public long generation(String userId) {
+        return generations.get(userId, k -> generationSequence.incrementAndGet());
+    }
+
+    public String version(String userId) {
+        return instanceNonce + "-" + generation(userId);
+    }
+
+    public void invalidate(String userId) {
+        generations.put(userId, generationSequence.incrementAndGet());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    public CacheStats stats() {
+        return pages.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, pages, "taskListPages");
+    }
+
+    private record PageKey(String userId, long generation, String cursor, int limit) {
+    }
+}
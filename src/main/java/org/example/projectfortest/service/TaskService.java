@@ -1,123 +1,288 @@
 package org.example.projectfortest.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.example.projectfortest.dto.BatchCreateResponse;
+import org.example.projectfortest.dto.BatchItemError;
+import org.example.projectfortest.dto.CursorPageResponse;
+import org.example.projectfortest.dto.TaskView;
 import org.example.projectfortest.dto.UpdateTaskDTO;
 import org.example.projectfortest.entity.Task;
+import org.example.projectfortest.entity.TaskTombstone;
 import org.example.projectfortest.entity.User;
 import org.example.projectfortest.entity.enums.Category;
 import org.example.projectfortest.entity.enums.Priority;
 import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.event.TaskChangeType;
+import org.example.projectfortest.event.TaskChangedEvent;
 import org.example.projectfortest.repository.TaskRepository;
+import org.example.projectfortest.repository.TaskTombstoneRepository;
 import org.example.projectfortest.repository.UserRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.example.projectfortest.repository.projection.EditedTask;
+import org.example.projectfortest.repository.projection.StatusChange;
+import org.example.projectfortest.repository.projection.TaskSearchResult;
+import org.example.projectfortest.repository.specification.TaskSpecifications;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "tasks.service", histogram = true)
 @RequiredArgsConstructor
 public class TaskService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final TaskListCache taskListCache;
+    private final TaskStatsService taskStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
 
+    @Transactional
     public Task createTask(Task task) {
-        User currentUser = getCurrentUser();
-        task.setUser(currentUser);
-        return taskRepository.save(task);
+        String currentUserId = currentUserProvider.getCurrentUserId();
+        task.setUser(userRepository.getReferenceById(currentUserId));
+        Task saved = taskRepository.save(task);
+        taskStatsService.onTasksCreated(currentUserId, List.of(saved));
+        publishChange(currentUserId, TaskChangeType.CREATED, saved.getId());
+        return saved;
+    }
+
+    /**
+     * Creates all valid tasks in one transaction with batched inserts. Invalid items are
+     * reported by their index and skipped instead of failing the whole batch.
+     */
+    @Transactional
+    public BatchCreateResponse createTasks(List<Task> tasks) {
+        if (tasks.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch size must not exceed " + MAX_BATCH_SIZE);
+        }
+        String currentUserId = currentUserProvider.getCurrentUserId();
+        User currentUser = userRepository.getReferenceById(currentUserId);
+        List<Task> valid = new ArrayList<>(tasks.size());
+        List<BatchItemError> errors = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (task == null) {
+                errors.add(new BatchItemError(i, null, "must not be null"));
+                continue;
+            }
+            Set<ConstraintViolation<Task>> violations = validator.validate(task);
+            if (!violations.isEmpty()) {
+                for (ConstraintViolation<Task> violation : violations) {
+                    errors.add(new BatchItemError(i, violation.getPropertyPath().toString(), violation.getMessage()));
+                }
+                continue;
+            }
+            task.setId(null);
+            task.setUser(currentUser);
+            valid.add(task);
+        }
+        List<Task> created = taskRepository.saveAll(valid);
+        if (!created.isEmpty()) {
+            taskStatsService.onTasksCreated(currentUserId, created);
+            eventPublisher.publishEvent(new TaskChangedEvent(currentUserId, TaskChangeType.CREATED,
+                    created.stream().map(Task::getId).toList()));
+        }
+        return new BatchCreateResponse(created, errors);
     }
 
+    @Transactional
     public void deleteTask(UUID taskId) {
-        User currentUser = getCurrentUser();
+        String currentUserId = currentUserProvider.getCurrentUserId();
         Task task = taskRepository.findById(taskId).orElseThrow(() ->
                 new RuntimeException("Task not found"));
-        if (!task.getUser().equals(currentUser)) {
+        if (!currentUserId.equals(task.getUser().getId())) {
             throw new RuntimeException("You are not allowed to delete this task");
         }
         taskRepository.delete(task);
+        taskStatsService.onTaskDeleted(currentUserId, task);
+        taskTombstoneRepository.save(new TaskTombstone(taskId, currentUserId, LocalDateTime.now()));
+        publishChange(currentUserId, TaskChangeType.DELETED, taskId);
     }
 
-    public Task updateTask(UUID taskId, UpdateTaskDTO updateTaskDTO) {
-        Task task = taskRepository.findById(taskId).orElseThrow(
-                () -> new RuntimeException("Task not found")
-        );
-        task.setTitle(updateTaskDTO.getTitle());
-        task.setDescription(updateTaskDTO.getDescription());
-        task.setDueDate(updateTaskDTO.getDueDate());
-        task.setPriority(updateTaskDTO.getPriority());
-        task.setCategory(updateTaskDTO.getCategory());
-        return taskRepository.save(task);
+    /**
+     * Edits one of the current user's tasks with a single conditional UPDATE. When
+     * {@code expectedVersion} is given and the task has been changed since, nothing is
+     * written and 409 is returned; {@code null} overwrites unconditionally.
+     */
+    @Transactional
+    public TaskView updateTask(UUID taskId, Long expectedVersion, UpdateTaskDTO updateTaskDTO) {
+        String currentUserId = currentUserProvider.getCurrentUserId();
+        EditedTask edited = taskRepository.updateIfVersionMatches(taskId, currentUserId, expectedVersion,
+                updateTaskDTO.getTitle(), updateTaskDTO.getDescription(), updateTaskDTO.getDueDate(),
+                name(updateTaskDTO.getPriority()), name(updateTaskDTO.getCategory()), LocalDateTime.now())
+                .orElseThrow(() -> {
+                    if (taskRepository.existsByIdAndUserId(taskId, currentUserId)) {
+                        return new ResponseStatusException(HttpStatus.CONFLICT, "Task was modified by another request");
+                    }
+                    return new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found");
+                });
+        taskStatsService.onTaskUpdated(currentUserId, edited.getPreviousCategory(), edited.getPreviousPriority(),
+                edited.getCategory(), edited.getPriority());
+        publishChange(currentUserId, TaskChangeType.UPDATED, taskId);
+        return new TaskView(edited.getId(), edited.getTitle(), edited.getDescription(), edited.getDueDate(),
+                edited.getPriority(), edited.getStatus(), edited.getCategory(), edited.getCreatedAt(),
+                edited.getUpdatedAt(), edited.getVersion());
     }
 
+    @Transactional
     public void updateTaskStatusToInProgress(UUID taskId) {
-        Task task = taskRepository.findById(taskId).orElseThrow(
-                () -> new RuntimeException("Task not found")
-        );
-        task.setStatus(TaskStatus.IN_PROGRESS);
-        taskRepository.save(task);
+        if (updateTaskStatus(List.of(taskId), TaskStatus.IN_PROGRESS) == 0) {
+            throw new RuntimeException("Task not found");
+        }
     }
 
+    @Transactional
     public void updateTaskStatusToDone(UUID taskId) {
-        Task task = taskRepository.findById(taskId).orElseThrow(
-                () -> new RuntimeException("Task not found")
-        );
-        task.setStatus(TaskStatus.DONE);
-        taskRepository.save(task);
+        if (updateTaskStatus(List.of(taskId), TaskStatus.DONE) == 0) {
+            throw new RuntimeException("Task not found");
+        }
     }
 
-    public List<Task> filterTasks(String keyword, Category category, Priority priority, TaskStatus status, Boolean overdue) {
-        User currentUser = getCurrentUser();
-        List<Task> tasks = taskRepository.findByUser(currentUser);
-        return tasks.stream()
-                .filter(task -> keyword == null || keyword.isEmpty() ||
-                        task.getTitle().toLowerCase().contains(keyword.toLowerCase()) ||
-                        (task.getDescription() != null && task.getDescription().toLowerCase().contains(keyword.toLowerCase())))
-                .filter(task -> category == null || task.getCategory() == category)
-                .filter(task -> priority == null || task.getPriority() == priority)
-                .filter(task -> status == null || task.getStatus() == status)
-                .filter(task -> overdue == null || !overdue || task.isOverdue())
-                .collect(Collectors.toList());
+    /**
+     * Moves the current user's tasks to the given status with a single UPDATE.
+     * Ids of tasks that do not exist or belong to another user are ignored.
+     *
+     * @return the number of tasks updated
+     */
+    @Transactional
+    public int updateTaskStatus(Collection<UUID> taskIds, TaskStatus status) {
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        if (taskIds.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch size must not exceed " + MAX_BATCH_SIZE);
+        }
+        String currentUserId = currentUserProvider.getCurrentUserId();
+        List<StatusChange> changes = taskRepository.updateStatus(taskIds, currentUserId, status.name(), LocalDateTime.now());
+        if (!changes.isEmpty()) {
+            Map<TaskStatus, Long> previousCounts = changes.stream()
+                    .collect(Collectors.groupingBy(StatusChange::getPreviousStatus, () -> new EnumMap<>(TaskStatus.class), Collectors.counting()));
+            taskStatsService.onStatusChanged(currentUserId, previousCounts, status);
+            eventPublisher.publishEvent(new TaskChangedEvent(currentUserId, TaskChangeType.STATUS_CHANGED,
+                    changes.stream().map(StatusChange::getId).toList()));
+        }
+        return changes.size();
     }
 
-    public List<Task> sortTasks(List<Task> tasks, String sortBy, boolean ascending) {
-        Comparator<Task> comparator;
-        switch (sortBy != null ? sortBy : "") {
-            case "dueDate":
-                comparator = Comparator.comparing(Task::getDueDate,
-                        Comparator.nullsLast(Comparator.naturalOrder()));
-                break;
-            case "status":
-                comparator = Comparator.comparing(Task::getStatus);
-                break;
-            case "priority":
-            default:
-                comparator = Comparator.comparing(Task::getPriority);
-                break;
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskView> filterTasks(String keyword, Category category, Priority priority, TaskStatus status,
+                                                Boolean overdue, String cursor, int limit) {
+        Specification<Task> specification = TaskSpecifications.belongsTo(currentUserProvider.getCurrentUserId())
+                .and(TaskSpecifications.hasKeyword(keyword))
+                .and(TaskSpecifications.hasCategory(category))
+                .and(TaskSpecifications.hasPriority(priority))
+                .and(TaskSpecifications.hasStatus(status))
+                .and(TaskSpecifications.isOverdue(overdue));
+        return findPage(specification, cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSearchResult> searchTasks(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        String term = query.trim();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return taskRepository.search(currentUserProvider.getCurrentUserId(), term, TaskSpecifications.containsPattern(term), pageSize);
+    }
+
+    /**
+     * Sorts the given tasks (at most {@link #MAX_BATCH_SIZE}), all of which are returned, or
+     * the first {@code limit} of the current user's tasks (capped at {@link #MAX_PAGE_SIZE})
+     * when no ids are given.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskView> sortTasks(List<UUID> taskIds, List<String> sortBy, boolean ascending, int limit) {
+        boolean hasIds = taskIds != null && !taskIds.isEmpty();
+        if (hasIds && taskIds.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch size must not exceed " + MAX_BATCH_SIZE);
         }
-        if (!ascending) {
-            comparator = comparator.reversed();
+        Specification<Task> orderedBy;
+        try {
+            orderedBy = TaskSpecifications.orderedBy(sortBy, ascending);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
-        tasks.sort(comparator);
-        return tasks;
+        Specification<Task> specification = TaskSpecifications.belongsTo(currentUserProvider.getCurrentUserId())
+                .and(TaskSpecifications.hasIdIn(taskIds))
+                .and(orderedBy);
+        int pageSize = hasIds ? taskIds.size() : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // orderedBy has already rejected unknown keys, so the tag has a handful of values.
+        String sortKey = sortBy == null || sortBy.isEmpty() ? "createdAt" : sortBy.get(0).trim();
+        return Timer.builder("tasks.sort")
+                .description("Sorted task queries by primary sort key")
+                .tag("sort", sortKey)
+                .tag("direction", ascending ? "asc" : "desc")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(() -> taskRepository.findViews(specification, pageSize));
     }
 
-    public List<Task> getAllTasks() {
-        User currentUser = getCurrentUser();
-        return taskRepository.findByUser(currentUser);
+    /**
+     * Pages are cached under the current list ETag, so a miss is read in a read-write
+     * transaction and stays on the primary; a lagging replica would cache stale pages.
+     */
+    @Transactional
+    public CursorPageResponse<TaskView> getAllTasks(String cursor, int limit) {
+        String currentUserId = currentUserProvider.getCurrentUserId();
+        return taskListCache.get(currentUserId, cursor, limit,
+                () -> findPage(TaskSpecifications.belongsTo(currentUserId), cursor, limit));
+    }
+
+    /**
+     * Strong validator for the current user's task lists. It changes on every write and at
+     * least once a minute, because the serialized {@code overdue} flag depends on the clock.
+     */
+    public String getTaskListETag() {
+        long minute = System.currentTimeMillis() / 60_000;
+        return "\"" + taskListCache.version(currentUserProvider.getCurrentUserId()) + "-" + Long.toString(minute, 36) + "\"";
+    }
+
+    private CursorPageResponse<TaskView> findPage(Specification<Task> specification, String cursor, int limit) {
+        KeysetScrollPosition position = TaskCursorCodec.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Window<TaskView> window = taskRepository.findViews(specification, position, pageSize);
+        List<TaskView> tasks = window.getContent();
+        String nextCursor = null;
+        if (window.hasNext() && !tasks.isEmpty()) {
+            TaskView last = tasks.get(tasks.size() - 1);
+            nextCursor = TaskCursorCodec.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPageResponse<>(tasks, nextCursor);
     }
 
-    public Optional<Task> getTaskById(UUID taskId) {
-        return taskRepository.findById(taskId);
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
     }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private void publishChange(String userId, TaskChangeType type, UUID taskId) {
+        eventPublisher.publishEvent(new TaskChangedEvent(userId, type, List.of(taskId)));
     }
 }
@@ -0,0 +1,181 @@
+package org.example.projectfortest.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.example.projectfortest.dto.TaskStatsResponse;
+import org.example.projectfortest.entity.Task;
+import org.example.projectfortest.entity.TaskCounter;
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.repository.TaskCounterRepository;
+import org.example.projectfortest.repository.TaskRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-user task counts kept in {@code task_counters}. Writers apply their deltas inside
+ * their own transaction, so counts commit or roll back together with the tasks; reading
+ * the stats is one lookup of at most a dozen rows. The overdue count depends on the clock
+ * and is taken from the {@code (user_id, status, due_date)} index instead. A user's counters
+ * exist once their {@code total} row does; the first write after that row is missing rebuilds
+ * them from the tasks table instead of applying its delta. Counters are also rebuilt
+ * periodically to repair drift from concurrent bulk updates.
+ */
+@Slf4j
+@Service
+@Timed(value = "tasks.service", histogram = true)
+public class TaskStatsService {
+    private static final String TOTAL = "total";
+
+    private final TaskCounterRepository taskCounterRepository;
+    private final TaskRepository taskRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskStatsService(TaskCounterRepository taskCounterRepository, TaskRepository taskRepository,
+                            CurrentUserProvider currentUserProvider, PlatformTransactionManager transactionManager) {
+        this.taskCounterRepository = taskCounterRepository;
+        this.taskRepository = taskRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTasksCreated(String userId, Collection<Task> tasks) {
+        Map<String, Long> deltas = new TreeMap<>();
+        for (Task task : tasks) {
+            add(deltas, task.getStatus(), task.getCategory(), task.getPriority(), 1);
+        }
+        apply(userId, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTaskDeleted(String userId, Task task) {
+        Map<String, Long> deltas = new TreeMap<>();
+        add(deltas, task.getStatus(), task.getCategory(), task.getPriority(), -1);
+        apply(userId, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTaskUpdated(String userId, Category oldCategory, Priority oldPriority, Category category, Priority priority) {
+        Map<String, Long> deltas = new TreeMap<>();
+        if (oldCategory != category) {
+            deltas.merge(key("category", oldCategory), -1L, Long::sum);
+            deltas.merge(key("category", category), 1L, Long::sum);
+        }
+        if (oldPriority != priority) {
+            deltas.merge(key("priority", oldPriority), -1L, Long::sum);
+            deltas.merge(key("priority", priority), 1L, Long::sum);
+        }
+        apply(userId, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStatusChanged(String userId, Map<TaskStatus, Long> previousCounts, TaskStatus status) {
+        Map<String, Long> deltas = new TreeMap<>();
+        previousCounts.forEach((previous, count) -> {
+            if (previous != status) {
+                deltas.merge(key("status", previous), -count, Long::sum);
+                deltas.merge(key("status", status), count, Long::sum);
+            }
+        });
+        apply(userId, deltas);
+    }
+
+    public TaskStatsResponse getStats() {
+        String userId = currentUserProvider.getCurrentUserId();
+        List<TaskCounter> counters = taskCounterRepository.findByIdUserId(userId);
+        if (counters.stream().noneMatch(counter -> TOTAL.equals(counter.getId().getCounterKey()))) {
+            reconcile(userId);
+            counters = taskCounterRepository.findByIdUserId(userId);
+        }
+        long total = 0;
+        Map<TaskStatus, Long> byStatus = zeros(TaskStatus.class);
+        Map<Category, Long> byCategory = zeros(Category.class);
+        Map<Priority, Long> byPriority = zeros(Priority.class);
+        for (TaskCounter counter : counters) {
+            String counterKey = counter.getId().getCounterKey();
+            long count = counter.getTaskCount();
+            int separator = counterKey.indexOf(':');
+            if (separator < 0) {
+                total = count;
+                continue;
+            }
+            String value = counterKey.substring(separator + 1);
+            switch (counterKey.substring(0, separator)) {
+                case "status" -> byStatus.put(TaskStatus.valueOf(value), count);
+                case "category" -> byCategory.put(Category.valueOf(value), count);
+                case "priority" -> byPriority.put(Priority.valueOf(value), count);
+                default -> log.warn("Unknown task counter {}", counterKey);
+            }
+        }
+        long overdue = taskRepository.countOverdue(userId, LocalDateTime.now());
+        return new TaskStatsResponse(total, overdue, byStatus, byCategory, byPriority);
+    }
+
+    public void reconcile(String userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            taskCounterRepository.deleteByUser(userId);
+            taskCounterRepository.rebuildForUser(userId);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.stats.reconcile-interval:1h}", initialDelayString = "${tasks.stats.reconcile-interval:1h}")
+    public void reconcileAll() {
+        for (String userId : taskCounterRepository.findUserIds()) {
+            try {
+                reconcile(userId);
+            } catch (RuntimeException e) {
+                log.warn("Reconciling task counters of user {} failed", userId, e);
+            }
+        }
+    }
+
+    private void apply(String userId, Map<String, Long> deltas) {
+        if (deltas.values().stream().allMatch(delta -> delta == 0)) {
+            return;
+        }
+        if (taskCounterRepository.claimInitialization(userId) == 1) {
+            // The rebuild already counts this transaction's own changes, so the delta is dropped.
+            taskCounterRepository.rebuildForUser(userId);
+            return;
+        }
+        // Keys are applied in sorted order so concurrent writers lock counter rows in the same order.
+        deltas.forEach((counterKey, delta) -> {
+            if (delta != 0) {
+                taskCounterRepository.increment(userId, counterKey, delta);
+            }
+        });
+    }
+
+    private static void add(Map<String, Long> deltas, TaskStatus status, Category category, Priority priority, long delta) {
+        deltas.merge(TOTAL, delta, Long::sum);
+        deltas.merge(key("status", status), delta, Long::sum);
+        deltas.merge(key("category", category), delta, Long::sum);
+        deltas.merge(key("priority", priority), delta, Long::sum);
+    }
+
+    private static String key(String dimension, Enum<?> value) {
+        return dimension + ":" + value;
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeros(Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+        return counts;
+    }
+}
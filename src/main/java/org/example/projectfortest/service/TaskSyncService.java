@@ -0,0 +1,117 @@
+package org.example.projectfortest.service;
+
+import io.micrometer.core.annotation.Timed;
+import org.example.projectfortest.dto.TaskChangesResponse;
+import org.example.projectfortest.dto.TaskView;
+import org.example.projectfortest.entity.Task;
+import org.example.projectfortest.repository.TaskRepository;
+import org.example.projectfortest.repository.TaskTombstoneRepository;
+import org.example.projectfortest.repository.specification.TaskSpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delta sync for offline clients: tasks changed and tasks deleted since a sync token.
+ * <p>
+ * The token is the server time of the previous sync. Changes are looked up from that time
+ * minus {@code tasks.sync.overlap}, which covers transactions that committed after the
+ * previous read and clock skew between instances; clients apply changes as upserts, so
+ * seeing a task twice is harmless. Tokens older than the tombstone retention can no longer
+ * be answered with deltas and get a full resync instead.
+ * <p>
+ * Changed tasks come in keyset pages. While {@code nextCursor} is set the client repeats the
+ * request with the same {@code since} and that cursor; the sync token only comes with the
+ * last page. The cursor carries the time the first page was taken, so every page and the
+ * final token share it, and anything written while the pages were read is picked up by the
+ * next sync. Tombstones are sent with the first page.
+ * <p>
+ * Reads run in a read-write transaction so replica routing keeps them on the primary: a
+ * lagging replica would hand out a token past changes and tombstones it has not seen yet.
+ */
+@Service
+@Timed(value = "tasks.service", histogram = true)
+public class TaskSyncService {
+
+    // Neither codec emits '.', both being unpadded URL-safe Base64.
+    private static final String CURSOR_SEPARATOR = ".";
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final Duration overlap;
+    private final Duration tombstoneRetention;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public TaskSyncService(TaskRepository taskRepository, TaskTombstoneRepository taskTombstoneRepository,
+                           CurrentUserProvider currentUserProvider,
+                           @Value("${tasks.sync.overlap:5s}") Duration overlap,
+                           @Value("${tasks.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.overlap = overlap;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Transactional
+    public TaskChangesResponse getChanges(String syncToken, String cursor, int limit) {
+        String userId = currentUserProvider.getCurrentUserId();
+        Instant since = syncToken == null || syncToken.isEmpty() ? null : TaskSyncTokenCodec.decode(syncToken);
+        boolean firstPage = cursor == null || cursor.isEmpty();
+        Instant takenAt;
+        KeysetScrollPosition position;
+        if (firstPage) {
+            takenAt = Instant.now();
+            position = ScrollPosition.keyset();
+        } else {
+            int separator = cursor.indexOf(CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            takenAt = TaskSyncTokenCodec.decode(cursor.substring(0, separator));
+            position = TaskCursorCodec.decode(cursor.substring(separator + 1));
+        }
+
+        boolean fullResync = since == null || since.isBefore(takenAt.minus(tombstoneRetention));
+        Specification<Task> specification = TaskSpecifications.belongsTo(userId);
+        List<UUID> deleted = List.of();
+        if (!fullResync) {
+            LocalDateTime from = LocalDateTime.ofInstant(since.minus(overlap), zone);
+            specification = specification.and(TaskSpecifications.updatedAfter(from));
+            if (firstPage) {
+                deleted = taskTombstoneRepository.findTaskIdsDeletedAfter(userId, from);
+            }
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, TaskService.MAX_PAGE_SIZE));
+        Window<TaskView> window = taskRepository.findViews(specification, position, pageSize);
+        List<TaskView> changed = window.getContent();
+        if (window.hasNext() && !changed.isEmpty()) {
+            TaskView last = changed.get(changed.size() - 1);
+            String nextCursor = TaskSyncTokenCodec.encode(takenAt) + CURSOR_SEPARATOR
+                    + TaskCursorCodec.encode(last.getCreatedAt(), last.getId());
+            return new TaskChangesResponse(changed, deleted, null, fullResync, nextCursor);
+        }
+        return new TaskChangesResponse(changed, deleted, TaskSyncTokenCodec.encode(takenAt), fullResync, null);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.sync.tombstone-purge-interval:1h}")
+    public void purgeTombstones() {
+        taskTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+    }
+}
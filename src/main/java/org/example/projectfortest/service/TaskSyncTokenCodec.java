@@ -0,0 +1,31 @@
+package org.example.projectfortest.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Encodes the server time a delta sync was taken at into an opaque token and back.
+ */
+final class TaskSyncTokenCodec {
+
+    private TaskSyncTokenCodec() {
+    }
+
+    static String encode(Instant takenAt) {
+        byte[] raw = Long.toString(takenAt.toEpochMilli()).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    static Instant decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return Instant.ofEpochMilli(Long.parseLong(raw));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sync token");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.projectfortest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.projectfortest.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, expiring cache of user identities by email for the places that cannot read them
+ * from the authenticated principal.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final Cache<String, CachedUser> usersByEmail;
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${cache.users.maximum-size:10000}") long maximumSize,
+                     @Value("${cache.users.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<CachedUser> findByEmail(String email) {
+        CachedUser cached = usersByEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<CachedUser> user = userRepository.findByEmail(email)
+                .map(u -> new CachedUser(u.getId(), u.getEmail()));
+        user.ifPresent(u -> usersByEmail.put(email, u));
+        return user;
+    }
+
+    public void evict(String email) {
+        usersByEmail.invalidate(email);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, usersByEmail, "usersByEmail");
+    }
+}
@@ -1,40 +1,47 @@
 package org.example.projectfortest.service;
 
+import io.micrometer.core.annotation.Timed;
 import org.example.projectfortest.config.JwtTokenProvider;
 import org.example.projectfortest.dto.RegisterRequest;
+import org.example.projectfortest.dto.UserResponse;
 import org.example.projectfortest.entity.User;
 import org.example.projectfortest.repository.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@Timed(value = "auth.service", histogram = true)
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserCache userCache;
+    private final RefreshTokenService refreshTokenService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenProvider jwtTokenProvider) {
+    public UserService(UserRepository userRepository, PasswordHashingService passwordHashingService, JwtTokenProvider jwtTokenProvider,
+                       UserCache userCache, RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.userCache = userCache;
+        this.refreshTokenService = refreshTokenService;
     }
 
     public Map<String, Object> register(RegisterRequest request) {
         userRepository.findByEmail(request.getEmail())
                 .ifPresent(u -> { throw new RuntimeException("Email is already in use"); });
 
-        String encoded = passwordEncoder.encode(request.getPassword());
+        String encoded = passwordHashingService.encode(request.getPassword());
         User user = User.builder().email(request.getEmail()).password(encoded).build();
         User saved = userRepository.save(user);
 
         Map<String, Object> result = new HashMap<>();
-        result.put("user", saved);
+        result.put("user", new UserResponse(saved.getId(), saved.getEmail(), saved.getCreatedAt()));
         result.put("accessToken", jwtTokenProvider.generateAccessToken(saved));
-        result.put("refreshToken", jwtTokenProvider.generateRefreshToken(saved));
+        result.put("refreshToken", refreshTokenService.issue(saved));
         return result;
     }
 
@@ -42,21 +49,33 @@ public class UserService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(password, user.getPassword()))
+        if (!passwordHashingService.matches(password, user.getPassword()))
             throw new RuntimeException("Invalid email or password");
 
+        if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(password));
+            userRepository.save(user);
+            userCache.evict(user.getEmail());
+        }
+
         Map<String, String> tokens = new HashMap<>();
         tokens.put("accessToken", jwtTokenProvider.generateAccessToken(user));
-        tokens.put("refreshToken", jwtTokenProvider.generateRefreshToken(user));
+        tokens.put("refreshToken", refreshTokenService.issue(user));
         return tokens;
     }
 
+    public Map<String, String> refresh(String refreshToken) {
+        return refreshTokenService.refresh(refreshToken);
+    }
+
     public Map<String, String> recoveryPassword(String email, String newPassword) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Email is empty"));
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
         userRepository.save(user);
+        userCache.evict(user.getEmail());
+        refreshTokenService.revokeAll(user.getId());
 
         Map<String, String> result = new HashMap<>();
         result.put("message", "Password updated successfully");
@@ -0,0 +1,5 @@
+-- Database extensions the application depends on.
+-- Run once per database by a role allowed to create extensions, before the first start:
+--   psql -U postgres -d testing -f extensions.sql
+-- The application itself never runs this script.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
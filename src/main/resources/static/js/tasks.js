@@ -1,4 +1,5 @@
 const tasksList = document.getElementById("tasks-list");
+const loadMoreBtn = document.getElementById("load-more-btn");
 const messageBox = document.getElementById("message");
 const logoutBtn = document.getElementById("logout-btn");
 const createTaskBtn = document.getElementById("create-task-btn");
@@ -30,12 +31,15 @@ const cancelSortBtn = document.getElementById("cancel-sort-btn");
 const resetFilterBtn = document.getElementById("reset-filter-btn");
 const resetSortBtn = document.getElementById("reset-sort-btn");
 
-const accessToken = localStorage.getItem("accessToken");
+let accessToken = localStorage.getItem("accessToken");
 if (!accessToken) {
     window.location.href = "/auth.html";
 }
 
+const TASKS_PAGE_SIZE = 50;
+
 let currentTasks = [];
+let nextCursor = null;
 let currentFilters = {
     keyword: '',
     category: '',
@@ -96,31 +100,25 @@ function getSortFieldText(field) {
     return fields[field] || field;
 }
 
-async function fetchTasks() {
-    try {
-        const response = await fetch("/task/all", {
-            headers: {
-                "Authorization": "Bearer " + accessToken,
-                "Content-Type": "application/json"
-            }
-        });
+async function refreshAccessToken() {
+    const refreshToken = localStorage.getItem("refreshToken");
+    if (!refreshToken) return false;
 
-        if (response.status === 401) {
-            localStorage.removeItem("accessToken");
-            window.location.href = "/auth.html";
-            return;
-        }
+    const response = await fetch("/api/auth/refresh", {
+        method: "POST",
+        headers: { "Content-Type": "application/json" },
+        body: JSON.stringify({ refreshToken })
+    });
+    if (!response.ok) return false;
 
-        if (!response.ok) throw new Error("Не удалось загрузить задачи");
-        const tasks = await response.json();
-        currentTasks = tasks;
-        applyFiltersAndSort();
-    } catch (err) {
-        showMessage(err.message, true);
-    }
+    const tokens = await response.json();
+    accessToken = tokens.accessToken;
+    localStorage.setItem("accessToken", tokens.accessToken);
+    localStorage.setItem("refreshToken", tokens.refreshToken);
+    return true;
 }
 
-async function applyFiltersAndSort() {
+function currentListRequest() {
     const params = new URLSearchParams();
 
     if (currentFilters.keyword) params.append('keyword', currentFilters.keyword);
@@ -129,54 +127,95 @@ async function applyFiltersAndSort() {
     if (currentFilters.status) params.append('status', currentFilters.status);
     if (currentFilters.overdue) params.append('overdue', 'true');
 
-    try {
-        let tasksToDisplay;
+    return params.toString()
+        ? { url: `/task/filter?${params.toString()}`, errorMessage: "Ошибка при фильтрации задач" }
+        : { url: "/task/all", errorMessage: "Не удалось загрузить задачи" };
+}
 
-        if (params.toString()) {
-            const response = await fetch(`/task/filter?${params.toString()}`, {
-                headers: {
-                    "Authorization": "Bearer " + accessToken,
-                    "Content-Type": "application/json"
-                }
-            });
+async function fetchPage(url, cursor, errorMessage) {
+    const params = new URLSearchParams({ limit: TASKS_PAGE_SIZE });
+    if (cursor) params.append('cursor', cursor);
+    const separator = url.includes('?') ? '&' : '?';
 
-            if (!response.ok) throw new Error("Ошибка при фильтрации задач");
-            tasksToDisplay = await response.json();
-        } else {
-            tasksToDisplay = currentTasks;
+    const pageUrl = `${url}${separator}${params.toString()}`;
+    const request = () => fetch(pageUrl, {
+        headers: {
+            "Authorization": "Bearer " + accessToken,
+            "Content-Type": "application/json"
         }
+    });
 
-        if (tasksToDisplay.length > 0) {
-            tasksToDisplay = await applySorting(tasksToDisplay);
-        }
+    let response = await request();
+    if (response.status === 401 && await refreshAccessToken()) {
+        response = await request();
+    }
 
-        renderTasks(tasksToDisplay);
-        updateActiveFiltersDisplay();
-        updateActiveSortDisplay();
+    if (response.status === 401) {
+        localStorage.removeItem("accessToken");
+        window.location.href = "/auth.html";
+        return null;
+    }
+
+    if (!response.ok) throw new Error(errorMessage);
+    return await response.json();
+}
 
+async function fetchTasks() {
+    const { url, errorMessage } = currentListRequest();
+    try {
+        const page = await fetchPage(url, null, errorMessage);
+        if (!page) return;
+        currentTasks = page.items;
+        nextCursor = page.nextCursor;
+        await renderCurrentTasks();
+    } catch (err) {
+        showMessage(err.message, true);
+    }
+}
+
+async function loadMoreTasks() {
+    if (!nextCursor) return;
+    const { url, errorMessage } = currentListRequest();
+    loadMoreBtn.disabled = true;
+    try {
+        const page = await fetchPage(url, nextCursor, errorMessage);
+        if (!page) return;
+        const loadedIds = new Set(currentTasks.map(task => task.id));
+        currentTasks = currentTasks.concat(page.items.filter(task => !loadedIds.has(task.id)));
+        nextCursor = page.nextCursor;
+        await renderCurrentTasks();
     } catch (err) {
         showMessage(err.message, true);
-        renderTasks(currentTasks);
+    } finally {
+        loadMoreBtn.disabled = false;
     }
 }
 
+async function renderCurrentTasks() {
+    const tasksToDisplay = currentTasks.length > 0 ? await applySorting(currentTasks) : currentTasks;
+
+    renderTasks(tasksToDisplay);
+    loadMoreBtn.style.display = nextCursor ? 'block' : 'none';
+    updateActiveFiltersDisplay();
+    updateActiveSortDisplay();
+}
+
 async function applySorting(tasks) {
     if (tasks.length === 0) return tasks;
 
-    const taskIds = tasks.map(task => task.id);
     const params = new URLSearchParams({
         sortBy: currentSort.sortBy,
         ascending: currentSort.ascending
     });
 
-    taskIds.forEach(id => params.append('taskIds', id));
-
     try {
         const response = await fetch(`/task/sort?${params.toString()}`, {
+            method: "POST",
             headers: {
                 "Authorization": "Bearer " + accessToken,
                 "Content-Type": "application/json"
-            }
+            },
+            body: JSON.stringify(tasks.map(task => task.id))
         });
 
         if (!response.ok) throw new Error("Ошибка при сортировке задач");
@@ -241,7 +280,7 @@ function resetFilters() {
     document.getElementById('filter-status').value = '';
     document.getElementById('filter-overdue').checked = false;
 
-    applyFiltersAndSort();
+    fetchTasks();
     closeFilterModal();
 }
 
@@ -254,7 +293,7 @@ function resetSort() {
     document.getElementById('sort-by').value = 'createdAt';
     document.getElementById('sort-order').value = 'false';
 
-    applyFiltersAndSort();
+    renderCurrentTasks();
     closeSortModal();
 }
 
@@ -327,6 +366,7 @@ function closeCreateTaskModal() {
 
 function openEditTaskModal(task) {
     document.getElementById('edit-task-id').value = task.id;
+    document.getElementById('edit-task-version').value = task.version ?? '';
     document.getElementById('edit-task-title').value = task.title;
     document.getElementById('edit-task-description').value = task.description || '';
     document.getElementById('edit-task-dueDate').value = formatFromLocalDateTime(task.dueDate);
@@ -405,12 +445,16 @@ async function editTask(taskId) {
 
 async function saveTask(taskData) {
     try {
+        const headers = {
+            "Authorization": "Bearer " + accessToken,
+            "Content-Type": "application/json"
+        };
+        if (taskData.version !== "") {
+            headers["If-Match"] = `"${taskData.version}"`;
+        }
         const response = await fetch(`/task/edit/${taskData.id}`, {
             method: "PUT",
-            headers: {
-                "Authorization": "Bearer " + accessToken,
-                "Content-Type": "application/json"
-            },
+            headers,
             body: JSON.stringify({
                 title: taskData.title,
                 description: taskData.description,
@@ -420,6 +464,11 @@ async function saveTask(taskData) {
             })
         });
 
+        if (response.status === 409) {
+            closeEditTaskModal();
+            fetchTasks();
+            throw new Error("Задача была изменена на другом устройстве, загружена актуальная версия");
+        }
         if (!response.ok) {
             const errorText = await response.text();
             throw new Error(errorText || "Не удалось обновить задачу");
@@ -486,6 +535,7 @@ async function markDone(id) {
 createTaskBtn.addEventListener("click", openCreateTaskModal);
 filterTasksBtn.addEventListener("click", openFilterModal);
 sortTasksBtn.addEventListener("click", openSortModal);
+loadMoreBtn.addEventListener("click", loadMoreTasks);
 
 addTaskForm.addEventListener("submit", (e) => {
     e.preventDefault();
@@ -507,6 +557,7 @@ editTaskForm.addEventListener("submit", (e) => {
 
     const taskData = {
         id: document.getElementById("edit-task-id").value,
+        version: document.getElementById("edit-task-version").value,
         title: document.getElementById("edit-task-title").value,
         description: document.getElementById("edit-task-description").value,
         dueDate: formatToLocalDateTime(document.getElementById("edit-task-dueDate").value),
@@ -528,7 +579,7 @@ filterForm.addEventListener("submit", (e) => {
         overdue: document.getElementById('filter-overdue').checked
     };
 
-    applyFiltersAndSort();
+    fetchTasks();
     closeFilterModal();
 });
 
@@ -540,7 +591,7 @@ sortForm.addEventListener("submit", (e) => {
         ascending: document.getElementById('sort-order').value === 'true'
     };
 
-    applyFiltersAndSort();
+    renderCurrentTasks();
     closeSortModal();
 });
 
@@ -576,4 +627,137 @@ logoutBtn.addEventListener("click", () => {
     window.location.href = "/auth.html";
 });
 
-fetchTasks();
\ No newline at end of file
+const MAX_EVENT_TASK_IDS = 200;
+
+let eventRefreshTimer = null;
+let pendingChangedIds = new Set();
+let pendingDeletedIds = new Set();
+let resyncPending = false;
+
+function scheduleRefreshFromEvent(eventName, data) {
+    if (eventName === "resync" || !data) {
+        resyncPending = true;
+    } else if (eventName === "task-due") {
+        pendingChangedIds.add(data.taskId);
+    } else if (data.type === "DELETED") {
+        data.taskIds.forEach(id => {
+            pendingChangedIds.delete(id);
+            pendingDeletedIds.add(id);
+        });
+    } else {
+        data.taskIds.forEach(id => {
+            pendingDeletedIds.delete(id);
+            pendingChangedIds.add(id);
+        });
+    }
+    clearTimeout(eventRefreshTimer);
+    eventRefreshTimer = setTimeout(applyPendingEvents, 300);
+}
+
+async function applyPendingEvents() {
+    const changedIds = [...pendingChangedIds];
+    const deletedIds = new Set(pendingDeletedIds);
+    const resync = resyncPending || changedIds.length > MAX_EVENT_TASK_IDS;
+    pendingChangedIds = new Set();
+    pendingDeletedIds = new Set();
+    resyncPending = false;
+
+    if (resync) {
+        await fetchTasks();
+        return;
+    }
+
+    try {
+        const changed = changedIds.length > 0 ? await fetchTasksByIds(changedIds) : [];
+        const changedById = new Map(changed.map(task => [task.id, task]));
+        // Requested tasks that did not come back were deleted in the meantime.
+        changedIds.filter(id => !changedById.has(id)).forEach(id => deletedIds.add(id));
+
+        const loadedIds = new Set(currentTasks.map(task => task.id));
+        const added = changed.filter(task => !loadedIds.has(task.id) && matchesCurrentFilters(task));
+        const updated = currentTasks
+            .filter(task => !deletedIds.has(task.id))
+            .map(task => changedById.get(task.id) || task)
+            .filter(task => !changedById.has(task.id) || matchesCurrentFilters(task));
+        currentTasks = [...added, ...updated];
+        await renderCurrentTasks();
+    } catch (err) {
+        showMessage(err.message, true);
+    }
+}
+
+async function fetchTasksByIds(taskIds) {
+    const response = await fetch("/task/sort", {
+        method: "POST",
+        headers: {
+            "Authorization": "Bearer " + accessToken,
+            "Content-Type": "application/json"
+        },
+        body: JSON.stringify(taskIds)
+    });
+    if (!response.ok) throw new Error("Не удалось загрузить задачи");
+    return await response.json();
+}
+
+function matchesCurrentFilters(task) {
+    const keyword = currentFilters.keyword.toLowerCase();
+    if (keyword && !task.title.toLowerCase().includes(keyword)
+        && !(task.description || '').toLowerCase().includes(keyword)) {
+        return false;
+    }
+    if (currentFilters.category && task.category !== currentFilters.category) return false;
+    if (currentFilters.priority && task.priority !== currentFilters.priority) return false;
+    if (currentFilters.status && task.status !== currentFilters.status) return false;
+    return !currentFilters.overdue || task.overdue;
+}
+
+function parseEventData(rawEvent) {
+    const data = rawEvent.split("\n")
+        .filter(line => line.startsWith("data:"))
+        .map(line => line.slice(5))
+        .join("\n");
+    try {
+        return data ? JSON.parse(data) : null;
+    } catch (err) {
+        return null;
+    }
+}
+
+async function subscribeToTaskEvents(retryDelay = 1000) {
+    try {
+        let response = await fetch("/task/events", {
+            headers: { "Authorization": "Bearer " + accessToken, "Accept": "text/event-stream" }
+        });
+        if (response.status === 401 && await refreshAccessToken()) {
+            response = await fetch("/task/events", {
+                headers: { "Authorization": "Bearer " + accessToken, "Accept": "text/event-stream" }
+            });
+        }
+        if (!response.ok || !response.body) throw new Error("events unavailable");
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = "";
+        retryDelay = 1000;
+        while (true) {
+            const { value, done } = await reader.read();
+            if (done) break;
+            buffer += value;
+            let boundary;
+            while ((boundary = buffer.indexOf("\n\n")) !== -1) {
+                const rawEvent = buffer.slice(0, boundary);
+                buffer = buffer.slice(boundary + 2);
+                const eventLine = rawEvent.split("\n").find(line => line.startsWith("event:"));
+                const eventName = eventLine ? eventLine.slice(6).trim() : null;
+                if (eventName === "task-changed" || eventName === "task-due" || eventName === "resync") {
+                    scheduleRefreshFromEvent(eventName, parseEventData(rawEvent));
+                }
+            }
+        }
+    } catch (err) {
+        console.warn("Task event stream interrupted", err);
+    }
+    setTimeout(() => subscribeToTaskEvents(Math.min(retryDelay * 2, 30000)), retryDelay);
+}
+
+fetchTasks();
+subscribeToTaskEvents();
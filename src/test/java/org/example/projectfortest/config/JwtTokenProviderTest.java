@@ -0,0 +1,85 @@
+package org.example.projectfortest.config;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.projectfortest.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtTokenProvider, "secret", "test-secret");
+        ReflectionTestUtils.setField(jwtTokenProvider, "accessTokenValidity", 60_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheMaximumSize", 100L);
+        jwtTokenProvider.init();
+        user = User.builder().id("user-1").email("user@mail.com").build();
+    }
+
+    @Test
+    void authenticate_shouldReturnPrincipalWithUserId() {
+        String token = jwtTokenProvider.generateAccessToken(user);
+
+        Optional<Authentication> authentication = jwtTokenProvider.authenticate(token);
+
+        assertThat(authentication).isPresent();
+        assertThat(authentication.get().getPrincipal()).isEqualTo(new UserPrincipal("user-1", "user@mail.com"));
+        assertThat(authentication.get().getName()).isEqualTo("user@mail.com");
+    }
+
+    @Test
+    void authenticate_shouldReturnFreshAuthenticationOnCacheHit() {
+        String token = jwtTokenProvider.generateAccessToken(user);
+
+        Authentication first = jwtTokenProvider.authenticate(token).orElseThrow();
+        Authentication second = jwtTokenProvider.authenticate(token).orElseThrow();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPrincipal()).isEqualTo(first.getPrincipal());
+    }
+
+    @Test
+    void authenticate_shouldRejectTokenSignedWithAnotherSecret() {
+        String token = JWT.create()
+                .withSubject("user@mail.com")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .sign(Algorithm.HMAC256("another-secret"));
+
+        assertThat(jwtTokenProvider.authenticate(token)).isEmpty();
+        assertThat(jwtTokenProvider.isValidToken(token)).isFalse();
+    }
+
+    @Test
+    void authenticate_shouldRejectExpiredToken() {
+        String token = JWT.create()
+                .withSubject("user@mail.com")
+                .withExpiresAt(new Date(System.currentTimeMillis() - 1_000))
+                .sign(Algorithm.HMAC256("test-secret"));
+
+        assertThat(jwtTokenProvider.authenticate(token)).isEmpty();
+    }
+
+    @Test
+    void authenticate_shouldRejectRefreshToken() {
+        String token = jwtTokenProvider.generateRefreshToken(user, "token-1", "family-1",
+                Instant.now().plusSeconds(60));
+
+        assertThat(jwtTokenProvider.authenticate(token)).isEmpty();
+        assertThat(jwtTokenProvider.verifyRefreshToken(token)).isPresent();
+        assertThat(jwtTokenProvider.verifyRefreshToken(jwtTokenProvider.generateAccessToken(user))).isEmpty();
+    }
+}
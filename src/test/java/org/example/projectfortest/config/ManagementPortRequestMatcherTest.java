@@ -0,0 +1,29 @@
+package org.example.projectfortest.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ManagementPortRequestMatcherTest {
+
+    @Test
+    void matches_shouldOnlyAcceptRequestsOnSeparateManagementPort() {
+        ManagementPortRequestMatcher matcher = new ManagementPortRequestMatcher(8081, 8080);
+
+        assertThat(matcher.matches(request(8081))).isTrue();
+        assertThat(matcher.matches(request(8080))).isFalse();
+    }
+
+    @Test
+    void matches_shouldRejectEverythingWithoutSeparateManagementPort() {
+        assertThat(new ManagementPortRequestMatcher(-1, 8080).matches(request(8080))).isFalse();
+        assertThat(new ManagementPortRequestMatcher(8080, 8080).matches(request(8080))).isFalse();
+    }
+
+    private static MockHttpServletRequest request(int localPort) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        request.setLocalPort(localPort);
+        return request;
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.projectfortest.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.example.projectfortest.repository.RefreshTokenRepository;
+import org.example.projectfortest.repository.TaskRepository;
+import org.example.projectfortest.repository.TaskTombstoneRepository;
+import org.example.projectfortest.repository.UserRepository;
+import org.example.projectfortest.service.CurrentUserProvider;
+import org.example.projectfortest.service.JpaRefreshTokenStore;
+import org.example.projectfortest.service.TaskListCache;
+import org.example.projectfortest.service.TaskService;
+import org.example.projectfortest.service.TaskStatsService;
+import org.example.projectfortest.service.TaskSyncService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs services behind the real {@code @Transactional} interceptor and records where the
+ * routing data source would send each repository call.
+ */
+class PrimaryReadRoutingTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private TaskRepository taskRepository;
+    private CurrentUserProvider currentUserProvider;
+    private final List<Object> lookupKeys = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class),
+                List.of(mock(DataSource.class), mock(DataSource.class)),
+                new ReadYourWritesTracker(Duration.ofSeconds(5), 100));
+        taskRepository = mock(TaskRepository.class);
+        currentUserProvider = mock(CurrentUserProvider.class);
+        when(currentUserProvider.getCurrentUserId()).thenReturn("user-1");
+        when(taskRepository.findViews(any(Specification.class), any(), anyInt())).thenAnswer(invocation -> {
+            lookupKeys.add(routingDataSource.determineCurrentLookupKey());
+            return Window.from(List.of(), ScrollPosition::offset);
+        });
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal("user-1", "user@example.org"), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getChanges_shouldReadFromPrimary() {
+        TaskSyncService taskSyncService = transactional(new TaskSyncService(taskRepository,
+                mock(TaskTombstoneRepository.class), currentUserProvider, Duration.ofSeconds(5), Duration.ofDays(30)));
+
+        taskSyncService.getChanges(null, null, 50);
+
+        assertThat(lookupKeys).containsExactly(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void isFamilyRevoked_shouldReadFromPrimary() {
+        RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+        when(refreshTokenRepository.existsByFamilyIdAndRevokedTrue("family-1")).thenAnswer(invocation -> {
+            lookupKeys.add(routingDataSource.determineCurrentLookupKey());
+            return false;
+        });
+        JpaRefreshTokenStore refreshTokenStore = transactional(new JpaRefreshTokenStore(refreshTokenRepository));
+
+        refreshTokenStore.isFamilyRevoked("family-1");
+
+        assertThat(lookupKeys).containsExactly(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getAllTasks_shouldLoadCachedPagesFromPrimary() {
+        TaskListCache taskListCache = mock(TaskListCache.class);
+        when(taskListCache.get(any(), any(), anyInt(), any())).thenAnswer(invocation ->
+                ((Supplier<Object>) invocation.getArgument(3)).get());
+        TaskService taskService = transactional(taskService(taskListCache));
+
+        taskService.getAllTasks(null, 50);
+
+        assertThat(lookupKeys).containsExactly(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void filterTasks_shouldStillReadFromReplica() {
+        TaskService taskService = transactional(taskService(mock(TaskListCache.class)));
+
+        taskService.filterTasks(null, null, null, null, null, null, 50);
+
+        assertThat(lookupKeys).containsExactly("replica-0");
+    }
+
+    private TaskService taskService(TaskListCache taskListCache) {
+        return new TaskService(taskRepository, mock(UserRepository.class), mock(TaskTombstoneRepository.class),
+                currentUserProvider, taskListCache, mock(TaskStatsService.class), mock(ApplicationEventPublisher.class),
+                mock(Validator.class), new SimpleMeterRegistry());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T transactional(T target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new TransactionInterceptor(new NoOpTransactionManager(),
+                new AnnotationTransactionAttributeSource()));
+        return (T) proxyFactory.getProxy();
+    }
+
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.projectfortest.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReplicaDataSourceConfigTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replicaRoutingDataSource_shouldApplyHikariSettingsToEveryPool() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:postgresql://localhost:5432/testing");
+        properties.setDriverClassName("org.postgresql.Driver");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "7")
+                .withProperty("spring.datasource.hikari.connection-timeout", "1500");
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaDataSourceConfig().replicaRoutingDataSource(properties,
+                new ReadYourWritesTracker(Duration.ofSeconds(5), 100), mock(ObjectProvider.class),
+                List.of("jdbc:postgresql://localhost:5433/testing"), "postgres", "secret", environment);
+        routingDataSource.afterPropertiesSet();
+
+        HikariDataSource primary = (HikariDataSource) routingDataSource.getResolvedDataSources().get(ReplicaRoutingDataSource.PRIMARY);
+        HikariDataSource replica = (HikariDataSource) routingDataSource.getResolvedDataSources().get("replica-0");
+        assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(primary.getConnectionTimeout()).isEqualTo(1500);
+        assertThat(primary.getPoolName()).isEqualTo("primary");
+        assertThat(replica.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(replica.getJdbcUrl()).isEqualTo("jdbc:postgresql://localhost:5433/testing");
+        assertThat(replica.isReadOnly()).isTrue();
+    }
+}
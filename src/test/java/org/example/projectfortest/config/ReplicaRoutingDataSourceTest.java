@@ -0,0 +1,63 @@
+package org.example.projectfortest.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReadYourWritesTracker readYourWritesTracker;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        readYourWritesTracker = new ReadYourWritesTracker(Duration.ofSeconds(5), 100);
+        routingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class),
+                List.of(mock(DataSource.class), mock(DataSource.class)), readYourWritesTracker);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal("user-1", "user@example.org"), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldUsePrimaryOutsideReadOnlyTransactions() {
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldRotateReplicasForReadOnlyTransactions() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(List.of(routingDataSource.determineCurrentLookupKey(), routingDataSource.determineCurrentLookupKey(),
+                routingDataSource.determineCurrentLookupKey()))
+                .containsExactly("replica-0", "replica-1", "replica-0");
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldKeepRecentWriterOnPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        readYourWritesTracker.markWritten("user-1");
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        readYourWritesTracker.markWritten("user-2");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal("user-3", "other@example.org"), null, List.of()));
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+}
@@ -2,6 +2,7 @@ package org.example.projectfortest.controller;
 
 import org.example.projectfortest.dto.LoginRequest;
 import org.example.projectfortest.dto.RecoveryPasswordDTO;
+import org.example.projectfortest.dto.RefreshTokenRequest;
 import org.example.projectfortest.dto.RegisterRequest;
 import org.example.projectfortest.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -58,6 +59,19 @@ public class AuthControllerTest {
                 request.getPassword());
     }
 
+    @Test
+    void refresh_shouldReturnRotatedTokens() {
+        Map<String, String> mockTokens = Map.of(
+                "accessToken", "access456",
+                "refreshToken", "refresh456"
+        );
+        when(userService.refresh("refresh123")).thenReturn(mockTokens);
+        ResponseEntity<?> response = authController.refresh(new RefreshTokenRequest("refresh123"));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(mockTokens);
+        verify(userService).refresh("refresh123");
+    }
+
     @Test
     void recovery_ShouldReturnOkStatus() {
         RecoveryPasswordDTO recoveryPasswordDTO = new RecoveryPasswordDTO("user@example.com", "12345678");
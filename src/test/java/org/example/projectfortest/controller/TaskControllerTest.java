@@ -1,21 +1,44 @@
 package org.example.projectfortest.controller;
 
+import org.example.projectfortest.dto.BatchCreateResponse;
+import org.example.projectfortest.dto.BatchItemError;
+import org.example.projectfortest.dto.CursorPageResponse;
+import org.example.projectfortest.dto.TaskView;
 import org.example.projectfortest.dto.UpdateTaskDTO;
 import org.example.projectfortest.entity.Task;
+import org.example.projectfortest.entity.enums.Category;
 import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.service.TaskEventBroadcaster;
+import org.example.projectfortest.service.TaskExportFormat;
+import org.example.projectfortest.service.TaskExportService;
+import org.example.projectfortest.service.TaskImportService;
 import org.example.projectfortest.service.TaskService;
+import org.example.projectfortest.service.TaskStatsService;
+import org.example.projectfortest.service.TaskSyncService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 public class TaskControllerTest {
@@ -23,6 +46,21 @@ public class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskExportService taskExportService;
+
+    @Mock
+    private TaskImportService taskImportService;
+
+    @Mock
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @Mock
+    private TaskSyncService taskSyncService;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
     @InjectMocks
     private TaskController taskController;
 
@@ -42,6 +80,19 @@ public class TaskControllerTest {
         verify(taskService, times(1)).createTask(task);
     }
 
+    @Test
+    void createTasks_shouldReturnBatchResult() {
+        Task task = new Task();
+        task.setTitle("Imported");
+        BatchCreateResponse result = new BatchCreateResponse(List.of(task),
+                List.of(new BatchItemError(1, "title", "must not be blank")));
+        when(taskService.createTasks(anyList())).thenReturn(result);
+        ResponseEntity<?> response = taskController.createTasks(List.of(task, new Task()));
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(result);
+        verify(taskService, times(1)).createTasks(anyList());
+    }
+
     @Test
     void deleteTask_shouldReturnOk() {
         UUID taskId = UUID.randomUUID();
@@ -61,15 +112,24 @@ public class TaskControllerTest {
                 null,
                 null
         );
-        Task updatedTask = new Task();
-        updatedTask.setId(taskId);
-        updatedTask.setTitle(updateTaskDTO.getTitle());
-        updatedTask.setDescription(updateTaskDTO.getDescription());
-        when(taskService.updateTask(taskId, updateTaskDTO)).thenReturn(updatedTask);
-        ResponseEntity<?> response = taskController.updateTask(taskId, updateTaskDTO);
+        TaskView updatedTask = new TaskView(taskId, updateTaskDTO.getTitle(), updateTaskDTO.getDescription(), null,
+                Priority.LOW, TaskStatus.CREATED, Category.WORK, LocalDateTime.now(), LocalDateTime.now(), 5);
+        when(taskService.updateTask(taskId, 4L, updateTaskDTO)).thenReturn(updatedTask);
+        ResponseEntity<?> response = taskController.updateTask(taskId, "\"4\"", updateTaskDTO);
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
         assertThat(response.getBody()).isEqualTo(updatedTask);
-        verify(taskService, times(1)).updateTask(taskId, updateTaskDTO);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"5\"");
+        verify(taskService, times(1)).updateTask(taskId, 4L, updateTaskDTO);
+    }
+
+    @Test
+    void updateTask_shouldRejectWeakIfMatchWithPreconditionFailed() {
+        UUID taskId = UUID.randomUUID();
+        UpdateTaskDTO updateTaskDTO = new UpdateTaskDTO("Updated title", null, null, null, null);
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskController.updateTask(taskId, "W/\"4\"", updateTaskDTO));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        verifyNoInteractions(taskService);
     }
 
     @Test
@@ -90,51 +150,89 @@ public class TaskControllerTest {
         verify(taskService, times(1)).updateTaskStatusToInProgress(taskId);
     }
 
+    @Test
+    void doneTasks_shouldReturnUpdatedCount() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(taskService.updateTaskStatus(ids, TaskStatus.DONE)).thenReturn(2);
+        ResponseEntity<?> response = taskController.doneTasks(ids);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(Map.of("updated", 2));
+        verify(taskService, times(1)).updateTaskStatus(ids, TaskStatus.DONE);
+    }
+
+    @Test
+    void exportTasks_shouldStreamWithFormatContentType() {
+        StreamingResponseBody body = out -> out.write("{}\n".getBytes());
+        when(taskExportService.exportTasks(TaskExportFormat.CSV)).thenReturn(body);
+        ResponseEntity<StreamingResponseBody> response = taskController.exportTasks(TaskExportFormat.CSV);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(TaskExportFormat.CSV.getMediaType());
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).contains("tasks.csv");
+        assertThat(response.getBody()).isSameAs(body);
+    }
+
     @Test
     void getAllTasks_shouldReturnListOfTasks() {
-        Task task1 = new Task();
-        task1.setTitle("Task 1");
-        Task task2 = new Task();
-        task2.setTitle("Task 2");
-        when(taskService.getAllTasks()).thenReturn(List.of(task1, task2));
-        ResponseEntity<?> response = taskController.getAllTasks();
+        TaskView task1 = view("Task 1", Priority.LOW);
+        TaskView task2 = view("Task 2", Priority.LOW);
+        when(taskService.getAllTasks(null, 50)).thenReturn(new CursorPageResponse<>(List.of(task1, task2), null));
+        ResponseEntity<?> response = taskController.getAllTasks(null, 50, webRequest(null));
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
-        assertThat(response.getBody()).isInstanceOf(List.class);
-        List<?> tasks = (List<?>) response.getBody();
+        assertThat(response.getBody()).isInstanceOf(CursorPageResponse.class);
+        List<?> tasks = ((CursorPageResponse<?>) response.getBody()).getItems();
         assertThat(tasks).hasSize(2);
         assertThat(tasks)
-                .extracting(task -> ((Task) task).getTitle())
+                .extracting(task -> ((TaskView) task).getTitle())
                 .containsExactlyInAnyOrder("Task 1", "Task 2");
-        verify(taskService, times(1)).getAllTasks();
+        verify(taskService, times(1)).getAllTasks(null, 50);
+    }
+
+    @Test
+    void getAllTasks_shouldReturnNotModifiedWhenETagMatches() {
+        when(taskService.getTaskListETag()).thenReturn("\"v1\"");
+        ResponseEntity<?> response = taskController.getAllTasks(null, 50, webRequest("\"v1\""));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1\"");
+        verify(taskService, never()).getAllTasks(any(), anyInt());
     }
 
     @Test
     void filterTasksEndpoint_shouldReturnFilteredTasks() {
-        Task task = new Task();
-        task.setTitle("Task One");
-        when(taskService.filterTasks("one", null, null, null, null)).thenReturn(List.of(task));
-        ResponseEntity<?> response = taskController.filterTasks("one", null, null, null, null);
+        TaskView task = view("Task One", Priority.LOW);
+        when(taskService.filterTasks("one", null, null, null, null, null, 50))
+                .thenReturn(new CursorPageResponse<>(List.of(task), null));
+        ResponseEntity<?> response = taskController.filterTasks("one", null, null, null, null, null, 50, webRequest(null));
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
-        List<?> body = (List<?>) response.getBody();
+        List<?> body = ((CursorPageResponse<?>) response.getBody()).getItems();
         assertThat(body).hasSize(1);
-        assertThat(((Task) body.get(0)).getTitle()).isEqualTo("Task One");
-        verify(taskService, times(1)).filterTasks("one", null, null, null, null);
+        assertThat(((TaskView) body.get(0)).getTitle()).isEqualTo("Task One");
+        verify(taskService, times(1)).filterTasks("one", null, null, null, null, null, 50);
     }
 
     @Test
     void sortTasksEndpoint_shouldReturnSortedTasks() {
-        Task task1 = new Task(); task1.setId(UUID.randomUUID()); task1.setPriority(Priority.HIGH);
-        Task task2 = new Task(); task2.setId(UUID.randomUUID()); task2.setPriority(Priority.LOW);
-        when(taskService.getTaskById(task1.getId())).thenReturn(Optional.of(task1));
-        when(taskService.getTaskById(task2.getId())).thenReturn(Optional.of(task2));
-        when(taskService.sortTasks(List.of(task1, task2), "priority", true)).thenReturn(List.of(task2, task1));
-        ResponseEntity<?> response = taskController.sortTasks(
-                List.of(task1.getId(), task2.getId()), "priority", true
-        );
+        TaskView task1 = view("Task 1", Priority.HIGH);
+        TaskView task2 = view("Task 2", Priority.LOW);
+        List<UUID> taskIds = List.of(task1.getId(), task2.getId());
+        when(taskService.sortTasks(taskIds, List.of("priority"), true, TaskService.DEFAULT_PAGE_SIZE)).thenReturn(List.of(task2, task1));
+        ResponseEntity<?> response = taskController.sortTasks(taskIds, List.of("priority"), true, TaskService.DEFAULT_PAGE_SIZE);
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
         List<?> body = (List<?>) response.getBody();
-        assertThat(((Task) body.get(0)).getPriority()).isEqualTo(Priority.LOW);
-        assertThat(((Task) body.get(1)).getPriority()).isEqualTo(Priority.HIGH);
-        verify(taskService, times(1)).sortTasks(List.of(task1, task2), "priority", true);
+        assertThat(((TaskView) body.get(0)).getPriority()).isEqualTo(Priority.LOW);
+        assertThat(((TaskView) body.get(1)).getPriority()).isEqualTo(Priority.HIGH);
+        verify(taskService, times(1)).sortTasks(taskIds, List.of("priority"), true, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task/all");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static TaskView view(String title, Priority priority) {
+        return new TaskView(UUID.randomUUID(), title, null, null, priority, TaskStatus.CREATED, Category.WORK,
+                LocalDateTime.now(), LocalDateTime.now(), 0);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package org.example.projectfortest.scheduling;
+
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.event.TaskChangeType;
+import org.example.projectfortest.event.TaskChangedEvent;
+import org.example.projectfortest.repository.TaskRepository;
+import org.example.projectfortest.repository.projection.DueTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DueDateSchedulerTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskDueListener listener;
+
+    @Mock
+    private ObjectProvider<TaskDueListener> listenerProvider;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DueDateScheduler scheduler;
+    private long now;
+    private UUID taskId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(listenerProvider.orderedStream()).thenReturn(Stream.of(listener));
+        when(taskRepository.streamDueBetween(any(), any())).thenAnswer(invocation -> Stream.empty());
+        scheduler = new DueDateScheduler(taskRepository, listenerProvider, transactionManager,
+                Duration.ofSeconds(1), Duration.ofHours(1), Duration.ofMinutes(10));
+        now = System.currentTimeMillis() / 1_000 * 1_000;
+        taskId = UUID.randomUUID();
+        scheduler.start(now);
+    }
+
+    @Test
+    void onTaskChanged_shouldFireReminderAndOverdueForNewTask() {
+        LocalDateTime dueDate = toLocalDateTime(now + Duration.ofMinutes(30).toMillis());
+        when(taskRepository.findDueByIdIn(List.of(taskId)))
+                .thenReturn(List.of(new DueTask(taskId, "user-1", dueDate, TaskStatus.CREATED)));
+
+        scheduler.onTaskChanged(new TaskChangedEvent("user-1", TaskChangeType.CREATED, List.of(taskId)));
+        assertThat(scheduler.scheduledCount()).isEqualTo(2);
+
+        scheduler.tick(now + Duration.ofMinutes(20).toMillis());
+        scheduler.tick(now + Duration.ofMinutes(30).toMillis());
+
+        ArgumentCaptor<TaskDueEvent> events = ArgumentCaptor.forClass(TaskDueEvent.class);
+        verify(listener, times(2)).onTaskDue(events.capture());
+        assertThat(events.getAllValues()).extracting(TaskDueEvent::type)
+                .containsExactly(TaskDueEventType.REMINDER, TaskDueEventType.OVERDUE);
+    }
+
+    @Test
+    void onTaskChanged_shouldCancelWhenTaskIsDoneOrDeleted() {
+        LocalDateTime dueDate = toLocalDateTime(now + Duration.ofMinutes(30).toMillis());
+        when(taskRepository.findDueByIdIn(List.of(taskId)))
+                .thenReturn(List.of(new DueTask(taskId, "user-1", dueDate, TaskStatus.CREATED)))
+                .thenReturn(List.of(new DueTask(taskId, "user-1", dueDate, TaskStatus.DONE)));
+
+        scheduler.onTaskChanged(new TaskChangedEvent("user-1", TaskChangeType.CREATED, List.of(taskId)));
+        scheduler.onTaskChanged(new TaskChangedEvent("user-1", TaskChangeType.STATUS_CHANGED, List.of(taskId)));
+        assertThat(scheduler.scheduledCount()).isZero();
+
+        scheduler.tick(now + Duration.ofHours(1).toMillis());
+        verify(listener, never()).onTaskDue(any());
+    }
+
+    @Test
+    void tick_shouldLoadNextWindowOnlyWhenHorizonIsNear() {
+        scheduler.tick(now + 1_000);
+        verify(taskRepository, times(1)).streamDueBetween(any(), any());
+
+        scheduler.tick(now + Duration.ofMinutes(71).toMillis());
+        verify(taskRepository, times(2)).streamDueBetween(any(), any());
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.projectfortest.scheduling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private HierarchicalTimingWheel<String, String> wheel;
+    private List<String> fired;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HierarchicalTimingWheel<>(1_000, 8, 3, 0);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    void advanceTo_shouldFireEntryAtItsDeadlineAndNotBefore() {
+        wheel.schedule("a", 3_500, "A");
+
+        wheel.advanceTo(3_999, (key, value) -> fired.add(value));
+        assertThat(fired).isEmpty();
+
+        wheel.advanceTo(4_000, (key, value) -> fired.add(value));
+        assertThat(fired).containsExactly("A");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advanceTo_shouldCascadeEntriesFromHigherLevels() {
+        wheel.schedule("minute", 60_000, "M");
+        wheel.schedule("far", 300_000, "F");
+
+        wheel.advanceTo(59_000, (key, value) -> fired.add(value));
+        assertThat(fired).isEmpty();
+        wheel.advanceTo(60_000, (key, value) -> fired.add(value));
+        assertThat(fired).containsExactly("M");
+        wheel.advanceTo(300_000, (key, value) -> fired.add(value));
+        assertThat(fired).containsExactly("M", "F");
+    }
+
+    @Test
+    void advanceTo_shouldFireEntriesBeyondTopLevelAfterWrapping() {
+        wheel.schedule("beyond", 2_000_000, "B");
+
+        wheel.advanceTo(1_999_000, (key, value) -> fired.add(value));
+        assertThat(fired).isEmpty();
+        wheel.advanceTo(2_000_000, (key, value) -> fired.add(value));
+        assertThat(fired).containsExactly("B");
+    }
+
+    @Test
+    void schedule_shouldReplaceAndCancelByKey() {
+        wheel.schedule("a", 5_000, "first");
+        wheel.schedule("a", 9_000, "second");
+        wheel.schedule("b", 6_000, "cancelled");
+        assertThat(wheel.cancel("b")).isTrue();
+
+        wheel.advanceTo(20_000, (key, value) -> fired.add(value));
+
+        assertThat(fired).containsExactly("second");
+        assertThat(wheel.schedule("late", 20_000, "past")).isFalse();
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.projectfortest.service;
+
+import org.example.projectfortest.config.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CurrentUserProviderTest {
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private CurrentUserProvider currentUserProvider;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getCurrentUserId_shouldReadIdFromPrincipalWithoutLookup() {
+        authenticate(new UserPrincipal("user-1", "user@mail.com"));
+
+        assertThat(currentUserProvider.getCurrentUserId()).isEqualTo("user-1");
+        verifyNoInteractions(userCache);
+    }
+
+    @Test
+    void getCurrentUserId_shouldFallBackToCachedLookupByEmail() {
+        authenticate(new UserPrincipal(null, "user@mail.com"));
+        when(userCache.findByEmail("user@mail.com")).thenReturn(Optional.of(new CachedUser("user-1", "user@mail.com")));
+
+        assertThat(currentUserProvider.getCurrentUserId()).isEqualTo("user-1");
+        verify(userCache, times(1)).findByEmail("user@mail.com");
+    }
+
+    @Test
+    void getCurrentUserId_shouldThrowIfUserNotFound() {
+        authenticate(new UserPrincipal(null, "no@mail.com"));
+        when(userCache.findByEmail("no@mail.com")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> currentUserProvider.getCurrentUserId())
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("User not found");
+    }
+
+    private void authenticate(UserPrincipal principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.projectfortest.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRefreshTokenStoreTest {
+
+    @Test
+    void isFamilyRevoked_shouldSurviveMoreRevocationsThanTheTokenLimit() {
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(2, 120_000L);
+
+        IntStream.range(0, 1_000).forEach(i -> store.revokeFamily("family-" + i));
+
+        assertThat(IntStream.range(0, 1_000)).allMatch(i -> store.isFamilyRevoked("family-" + i));
+    }
+
+    @Test
+    void revokeUser_shouldRevokeOnlyThatUsersFamilies() {
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(100, 120_000L);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        store.save(new StoredRefreshToken("t1", "family-1", "user-1", expiresAt, false));
+        store.save(new StoredRefreshToken("t2", "family-2", "user-1", expiresAt, true));
+        store.save(new StoredRefreshToken("t3", "family-3", "user-2", expiresAt, false));
+
+        store.revokeUser("user-1");
+
+        assertThat(store.isFamilyRevoked("family-1")).isTrue();
+        assertThat(store.isFamilyRevoked("family-2")).isTrue();
+        assertThat(store.isFamilyRevoked("family-3")).isFalse();
+    }
+}
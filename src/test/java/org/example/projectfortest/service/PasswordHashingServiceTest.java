@@ -0,0 +1,80 @@
+package org.example.projectfortest.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void encode_shouldProduceHashThatMatches() {
+        passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 1, 1);
+
+        String hash = passwordHashingService.encode("secret123");
+
+        assertThat(passwordHashingService.matches("secret123", hash)).isTrue();
+        assertThat(passwordHashingService.matches("other", hash)).isFalse();
+        assertThat(meterRegistry.get("security.password.hashing").tags("operation", "matches", "outcome", "success")
+                .timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void upgradeEncoding_shouldDetectWeakerCost() {
+        passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(6), meterRegistry, 1, 1);
+
+        assertThat(passwordHashingService.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret123"))).isTrue();
+        assertThat(passwordHashingService.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret123"))).isFalse();
+    }
+
+    @Test
+    void encode_shouldRejectWithTooManyRequestsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = mock(PasswordEncoder.class);
+        when(blockingEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        passwordHashingService = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> passwordHashingService.encode("running"));
+            started.await(5, TimeUnit.SECONDS);
+            callers.submit(() -> passwordHashingService.encode("queued"));
+            Thread.sleep(100);
+
+            assertThatThrownBy(() -> passwordHashingService.encode("rejected"))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+            assertThat(meterRegistry.get("security.password.hashing").tag("outcome", "rejected").timer().count())
+                    .isEqualTo(1);
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.projectfortest.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.projectfortest.config.JwtTokenProvider;
+import org.example.projectfortest.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenServiceTest {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtTokenProvider, "secret", "test-secret");
+        ReflectionTestUtils.setField(jwtTokenProvider, "accessTokenValidity", 60_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheMaximumSize", 100L);
+        jwtTokenProvider.init();
+        refreshTokenService = new RefreshTokenService(jwtTokenProvider,
+                new InMemoryRefreshTokenStore(100, 120_000L), 120_000L);
+        user = User.builder().id("user-1").email("user@mail.com").build();
+    }
+
+    @Test
+    void refresh_shouldRotateTokensForSameUser() {
+        String refreshToken = refreshTokenService.issue(user);
+
+        Map<String, String> tokens = refreshTokenService.refresh(refreshToken);
+
+        assertThat(tokens.get("refreshToken")).isNotEqualTo(refreshToken);
+        assertThat(jwtTokenProvider.authenticate(tokens.get("accessToken")).orElseThrow().getName())
+                .isEqualTo("user@mail.com");
+    }
+
+    @Test
+    void refresh_shouldRevokeFamilyWhenTokenIsReused() {
+        String stolen = refreshTokenService.issue(user);
+        String rotated = refreshTokenService.refresh(stolen).get("refreshToken");
+
+        assertUnauthorized(stolen);
+        assertUnauthorized(rotated);
+    }
+
+    @Test
+    void revokeAll_shouldRejectEveryTokenOfTheUser() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.issue(user);
+        User other = User.builder().id("user-2").email("other@mail.com").build();
+        String unrelated = refreshTokenService.issue(other);
+
+        refreshTokenService.revokeAll("user-1");
+
+        assertUnauthorized(first);
+        assertUnauthorized(second);
+        assertThat(refreshTokenService.refresh(unrelated)).containsKey("accessToken");
+    }
+
+    @Test
+    void refresh_shouldRejectAccessTokenAndUnknownToken() {
+        assertUnauthorized(jwtTokenProvider.generateAccessToken(user));
+        assertUnauthorized("not-a-token");
+    }
+
+    private void assertUnauthorized(String token) {
+        assertThatThrownBy(() -> refreshTokenService.refresh(token))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.projectfortest.service;
+
+import org.example.projectfortest.event.TaskChangeType;
+import org.example.projectfortest.event.TaskChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.when;
+
+class TaskEventBroadcasterTest {
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    private TaskEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(currentUserProvider.getCurrentUserId()).thenReturn("user-1");
+        broadcaster = new TaskEventBroadcaster(currentUserProvider, Duration.ofMinutes(1), 4, 2, Duration.ofMinutes(1),
+                new SimpleAsyncTaskExecutorBuilder());
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void subscribe_shouldRegisterStreamForCurrentUser() {
+        SseEmitter emitter = broadcaster.subscribe();
+
+        assertThat(emitter.getTimeout()).isEqualTo(60_000L);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_shouldCloseOldestStreamsBeyondPerUserLimit() {
+        broadcaster.subscribe("user-1");
+        broadcaster.subscribe("user-1");
+        broadcaster.subscribe("user-1");
+        broadcaster.subscribe("user-2");
+
+        assertThat(broadcaster.subscriberCount()).isEqualTo(3);
+    }
+
+    @Test
+    void subscribe_shouldDrainOnVirtualThreadsOnlyWhenEnabled() throws InterruptedException {
+        assertThat(drainsOnVirtualThread(new SimpleAsyncTaskExecutorBuilder())).isFalse();
+        assertThat(drainsOnVirtualThread(new SimpleAsyncTaskExecutorBuilder().virtualThreads(true))).isTrue();
+    }
+
+    @Test
+    void onTaskChanged_shouldNotBlockPublisherWhenSubscriberIsNotReading() throws InterruptedException {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> sent = new CopyOnWriteArrayList<>();
+        broadcaster.subscribe("user-1", new SseEmitter(60_000L) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sent.add(builder.build().stream().map(data -> String.valueOf(data.getData())).collect(Collectors.joining()));
+            }
+        });
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatCode(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                broadcaster.onTaskChanged(new TaskChangedEvent("user-1", TaskChangeType.UPDATED, List.of(UUID.randomUUID())));
+            }
+        }).doesNotThrowAnyException();
+        broadcaster.onTaskChanged(new TaskChangedEvent("nobody", TaskChangeType.CREATED, List.of(UUID.randomUUID())));
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sent.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertThat(sent).hasSize(2);
+        assertThat(sent.get(0)).contains("event:ready");
+        assertThat(sent.get(1)).contains("event:resync");
+    }
+
+    private boolean drainsOnVirtualThread(SimpleAsyncTaskExecutorBuilder builder) throws InterruptedException {
+        TaskEventBroadcaster virtualAware = new TaskEventBroadcaster(currentUserProvider, Duration.ofMinutes(1), 4, 2,
+                Duration.ofMinutes(1), builder);
+        CountDownLatch sent = new CountDownLatch(1);
+        AtomicBoolean virtual = new AtomicBoolean();
+        try {
+            virtualAware.subscribe("user-1", new SseEmitter(60_000L) {
+                @Override
+                public void send(SseEventBuilder event) {
+                    virtual.set(Thread.currentThread().isVirtual());
+                    sent.countDown();
+                }
+            });
+            assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+            return virtual.get();
+        } finally {
+            virtualAware.shutdown();
+        }
+    }
+}
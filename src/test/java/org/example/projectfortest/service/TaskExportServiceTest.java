@@ -0,0 +1,79 @@
+package org.example.projectfortest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.projectfortest.dto.TaskView;
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TaskExportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskExportService taskExportService;
+    private TaskView task;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        taskExportService = new TaskExportService(taskRepository, currentUserProvider, objectMapper, transactionManager);
+        task = new TaskView(UUID.randomUUID(), "Buy milk, bread", "Say \"hi\"", null, Priority.LOW,
+                TaskStatus.CREATED, Category.PERSONAL, null, null, 0);
+        when(currentUserProvider.getCurrentUserId()).thenReturn("user-1");
+        when(taskRepository.streamViewsByUserId("user-1")).thenAnswer(invocation -> Stream.of(task, task));
+    }
+
+    @Test
+    void exportTasks_shouldWriteOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        taskExportService.exportTasks(TaskExportFormat.NDJSON).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"title\":\"Buy milk, bread\"").doesNotContain("\"user\"");
+    }
+
+    @Test
+    void exportTasks_shouldWriteEscapedCsvWithHeader() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        taskExportService.exportTasks(TaskExportFormat.CSV).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("id,title,description,status,priority,category,dueDate,createdAt,updatedAt");
+        assertThat(lines[1]).isEqualTo(task.getId() + ",\"Buy milk, bread\",\"Say \"\"hi\"\"\",CREATED,LOW,PERSONAL,,,");
+    }
+
+    @Test
+    void exportTasks_shouldResolveUserBeforeStreaming() {
+        taskExportService.exportTasks(TaskExportFormat.NDJSON);
+
+        verify(currentUserProvider, times(1)).getCurrentUserId();
+        verifyNoInteractions(taskRepository);
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.projectfortest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.example.projectfortest.dto.ImportSummaryResponse;
+import org.example.projectfortest.entity.Task;
+import org.example.projectfortest.entity.User;
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.event.TaskChangedEvent;
+import org.example.projectfortest.repository.TaskRepository;
+import org.example.projectfortest.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskImportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskImportService taskImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        taskImportService = new TaskImportService(taskRepository, userRepository, taskStatsService, currentUserProvider,
+                entityManager, Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher,
+                objectMapper, transactionManager, 2);
+        when(currentUserProvider.getCurrentUserId()).thenReturn("user-1");
+        when(userRepository.getReferenceById("user-1")).thenReturn(new User());
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            tasks.forEach(task -> task.setId(UUID.randomUUID()));
+            return tasks;
+        });
+    }
+
+    @Test
+    void importTasks_shouldWriteNdjsonInChunksAndReportBadRows() {
+        String body = """
+                {"title":"One","priority":"LOW","category":"WORK"}
+                {"title":"","priority":"LOW","category":"WORK"}
+                not json
+                {"title":"Two","priority":"HIGH","category":"PERSONAL"}
+                null
+                {"title":"Three","priority":"MEDIUM","category":"WORK"}
+                """;
+
+        ImportSummaryResponse summary = taskImportService.importTasks(stream(body), TaskExportFormat.NDJSON);
+
+        assertThat(summary.getProcessed()).isEqualTo(6);
+        assertThat(summary.getImported()).isEqualTo(3);
+        assertThat(summary.getFailed()).isEqualTo(3);
+        assertThat(summary.getErrors()).extracting("index").containsExactly(2, 3, 5);
+        verify(taskRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).clear();
+        verify(eventPublisher, times(2)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void importTasks_shouldParseQuotedCsvFields() {
+        String body = """
+                title,description,dueDate,priority,category,status
+                "Buy milk, bread","Say ""hi""
+                twice",2030-01-01T10:00,LOW,PERSONAL,DONE
+                Bad,,,LOW,UNKNOWN,
+                """;
+        ArgumentCaptor<List<Task>> captor = ArgumentCaptor.forClass(List.class);
+
+        ImportSummaryResponse summary = taskImportService.importTasks(stream(body), TaskExportFormat.CSV);
+
+        verify(taskRepository).saveAll(captor.capture());
+        Task task = captor.getValue().get(0);
+        assertThat(task.getTitle()).isEqualTo("Buy milk, bread");
+        assertThat(task.getDescription()).isEqualTo("Say \"hi\"\ntwice");
+        assertThat(task.getCategory()).isEqualTo(Category.PERSONAL);
+        assertThat(task.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(summary.getImported()).isEqualTo(1);
+        assertThat(summary.getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void importTasks_shouldKeepCommittedChunksWhenLaterChunkFails() {
+        when(taskRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new RuntimeException("constraint violated"));
+        String body = """
+                {"title":"One","priority":"LOW","category":"WORK"}
+                {"title":"Two","priority":"LOW","category":"WORK"}
+                {"title":"Three","priority":"LOW","category":"WORK"}
+                """;
+
+        ImportSummaryResponse summary = taskImportService.importTasks(stream(body), TaskExportFormat.NDJSON);
+
+        assertThat(summary.getImported()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(summary.getErrors().get(0).getMessage()).contains("Rows 3-3", "constraint violated");
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,27 +1,47 @@
 package org.example.projectfortest.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.projectfortest.dto.BatchCreateResponse;
+import org.example.projectfortest.dto.CursorPageResponse;
+import org.example.projectfortest.dto.TaskView;
 import org.example.projectfortest.dto.UpdateTaskDTO;
 import org.example.projectfortest.entity.Task;
 import org.example.projectfortest.entity.User;
 import org.example.projectfortest.entity.enums.Category;
 import org.example.projectfortest.entity.enums.Priority;
 import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.event.TaskChangeType;
+import org.example.projectfortest.event.TaskChangedEvent;
 import org.example.projectfortest.repository.TaskRepository;
+import org.example.projectfortest.repository.TaskTombstoneRepository;
 import org.example.projectfortest.repository.UserRepository;
+import org.example.projectfortest.repository.projection.EditedTask;
+import org.example.projectfortest.repository.projection.StatusChange;
+import org.example.projectfortest.repository.projection.TaskSearchResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,10 +56,25 @@ class TaskServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private Authentication authentication;
+    private CurrentUserProvider currentUserProvider;
 
     @Mock
-    private SecurityContext securityContext;
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
+    @Spy
+    private TaskListCache taskListCache = new TaskListCache(100, Duration.ofMinutes(1));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private TaskService taskService;
@@ -52,6 +87,7 @@ class TaskServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         user = new User();
+        user.setId("user-1");
         user.setEmail("test@example.com");
 
         taskId = UUID.randomUUID();
@@ -59,10 +95,8 @@ class TaskServiceTest {
         task.setId(taskId);
         task.setUser(user);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(user.getEmail());
-        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(currentUserProvider.getCurrentUserId()).thenReturn(user.getId());
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
     }
 
     @Test
@@ -71,6 +105,48 @@ class TaskServiceTest {
         Task savedTask = taskService.createTask(task);
         assertEquals(user, savedTask.getUser());
         verify(taskRepository, times(1)).save(task);
+        verify(userRepository, never()).findByEmail(any());
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(user.getId(), TaskChangeType.CREATED, List.of(taskId)));
+    }
+
+    @Test
+    void createTasks_shouldSaveValidTasksAndReportInvalidOnes() {
+        Task valid = new Task();
+        valid.setTitle("Valid");
+        valid.setPriority(Priority.LOW);
+        valid.setCategory(Category.WORK);
+        Task invalid = new Task();
+        invalid.setTitle("");
+        invalid.setPriority(Priority.LOW);
+        invalid.setCategory(Category.WORK);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchCreateResponse response = taskService.createTasks(List.of(valid, invalid));
+
+        assertThat(response.getCreated()).containsExactly(valid);
+        assertEquals(user, valid.getUser());
+        assertThat(response.getErrors()).hasSize(1);
+        assertEquals(1, response.getErrors().get(0).getIndex());
+        assertEquals("title", response.getErrors().get(0).getField());
+        verify(taskRepository, times(1)).saveAll(List.of(valid));
+        verify(userRepository, times(1)).getReferenceById(user.getId());
+    }
+
+    @Test
+    void createTasks_shouldRejectOversizedBatch() {
+        List<Task> tasks = Collections.nCopies(TaskService.MAX_BATCH_SIZE + 1, new Task());
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> taskService.createTasks(tasks));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void updateTaskStatus_shouldRejectOversizedBatch() {
+        List<UUID> ids = Collections.nCopies(TaskService.MAX_BATCH_SIZE + 1, taskId);
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.updateTaskStatus(ids, TaskStatus.DONE));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(taskRepository, never()).updateStatus(any(), any(), any(), any());
     }
 
     @Test
@@ -78,6 +154,8 @@ class TaskServiceTest {
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
         taskService.deleteTask(taskId);
         verify(taskRepository, times(1)).delete(task);
+        verify(taskTombstoneRepository).save(argThat(tombstone ->
+                tombstone.getTaskId().equals(taskId) && tombstone.getUserId().equals(user.getId())));
     }
 
     @Test
@@ -98,60 +176,82 @@ class TaskServiceTest {
     }
 
     @Test
-    void updateTask_shouldUpdateFieldsAndSave() {
+    void updateTask_shouldRunConditionalUpdateAndAdjustCounters() {
         UpdateTaskDTO updateTaskDTO = new UpdateTaskDTO(
                 "New title",
                 "New description",
                 LocalDateTime.now().plusDays(3),
-                org.example.projectfortest.entity.enums.Priority.HIGH,
-                org.example.projectfortest.entity.enums.Category.WORK
+                Priority.HIGH,
+                Category.WORK
         );
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        Task updatedTask = taskService.updateTask(taskId, updateTaskDTO);
-        assertEquals(updateTaskDTO.getTitle(), updatedTask.getTitle());
-        assertEquals(updateTaskDTO.getDescription(), updatedTask.getDescription());
-        assertEquals(updateTaskDTO.getDueDate(), updatedTask.getDueDate());
-        assertEquals(updateTaskDTO.getPriority(), updatedTask.getPriority());
-        assertEquals(updateTaskDTO.getCategory(), updatedTask.getCategory());
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, times(1)).save(task);
+        EditedTask edited = mock(EditedTask.class);
+        when(edited.getId()).thenReturn(taskId);
+        when(edited.getTitle()).thenReturn("New title");
+        when(edited.getPriority()).thenReturn(Priority.HIGH);
+        when(edited.getCategory()).thenReturn(Category.WORK);
+        when(edited.getVersion()).thenReturn(4L);
+        when(edited.getPreviousPriority()).thenReturn(Priority.LOW);
+        when(edited.getPreviousCategory()).thenReturn(Category.WORK);
+        when(taskRepository.updateIfVersionMatches(eq(taskId), eq(user.getId()), eq(3L), eq("New title"),
+                eq("New description"), eq(updateTaskDTO.getDueDate()), eq("HIGH"), eq("WORK"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(edited));
+
+        TaskView updated = taskService.updateTask(taskId, 3L, updateTaskDTO);
+
+        assertEquals("New title", updated.getTitle());
+        assertEquals(4L, updated.getVersion());
+        verify(taskStatsService).onTaskUpdated(user.getId(), Category.WORK, Priority.LOW, Category.WORK, Priority.HIGH);
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void updateTask_shouldThrowConflictWhenVersionIsStale() {
+        when(taskRepository.updateIfVersionMatches(eq(taskId), eq(user.getId()), eq(2L), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.existsByIdAndUserId(taskId, user.getId())).thenReturn(true);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.updateTask(taskId, 2L, new UpdateTaskDTO("t", "d", null, null, null)));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verifyNoInteractions(taskStatsService, eventPublisher);
     }
 
     @Test
     void updateTask_shouldThrowIfTaskNotFound() {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
-        RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> taskService.updateTask(taskId, new UpdateTaskDTO("t", "d", null, null, null)));
-        assertEquals("Task not found", exception.getMessage());
-        verify(taskRepository, never()).save(any());
+        when(taskRepository.updateIfVersionMatches(eq(taskId), eq(user.getId()), isNull(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.updateTask(taskId, null, new UpdateTaskDTO("t", "d", null, null, null)));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        assertEquals("Task not found", exception.getReason());
     }
 
     @Test
-    void updateTaskStatusToDone_shouldSetStatusAndSave() {
-        task.setStatus(org.example.projectfortest.entity.enums.TaskStatus.CREATED);
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    void updateTaskStatusToDone_shouldRunSingleOwnedUpdate() {
+        when(taskRepository.updateStatus(eq(List.of(taskId)), eq(user.getId()), eq("DONE"), any(LocalDateTime.class)))
+                .thenReturn(List.of(statusChange(taskId, TaskStatus.IN_PROGRESS)));
         taskService.updateTaskStatusToDone(taskId);
-        assertEquals(org.example.projectfortest.entity.enums.TaskStatus.DONE, task.getStatus());
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, times(1)).save(task);
+        verify(taskRepository, times(1)).updateStatus(eq(List.of(taskId)), eq(user.getId()), eq("DONE"), any(LocalDateTime.class));
+        verify(taskStatsService).onStatusChanged(user.getId(), Map.of(TaskStatus.IN_PROGRESS, 1L), TaskStatus.DONE);
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any());
     }
 
     @Test
-    void updateTaskStatusToInProgress_shouldSetStatusAndSave() {
-        task.setStatus(org.example.projectfortest.entity.enums.TaskStatus.CREATED);
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    void updateTaskStatusToInProgress_shouldRunSingleOwnedUpdate() {
+        when(taskRepository.updateStatus(eq(List.of(taskId)), eq(user.getId()), eq("IN_PROGRESS"), any(LocalDateTime.class)))
+                .thenReturn(List.of(statusChange(taskId, TaskStatus.CREATED)));
         taskService.updateTaskStatusToInProgress(taskId);
-        assertEquals(org.example.projectfortest.entity.enums.TaskStatus.IN_PROGRESS, task.getStatus());
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, times(1)).save(task);
+        verify(taskRepository, times(1)).updateStatus(eq(List.of(taskId)), eq(user.getId()), eq("IN_PROGRESS"), any(LocalDateTime.class));
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any());
     }
 
     @Test
     void updateTaskStatus_shouldThrowIfTaskNotFound() {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.updateStatus(any(), any(), any(), any())).thenReturn(List.of());
         RuntimeException exception1 = assertThrows(RuntimeException.class,
                 () -> taskService.updateTaskStatusToDone(taskId));
         assertEquals("Task not found", exception1.getMessage());
@@ -159,65 +259,173 @@ class TaskServiceTest {
                 () -> taskService.updateTaskStatusToInProgress(taskId));
         assertEquals("Task not found", exception2.getMessage());
         verify(taskRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateTaskStatus_shouldReturnAffectedRowsForBulkIds() {
+        UUID otherId = UUID.randomUUID();
+        List<UUID> ids = List.of(taskId, otherId, UUID.randomUUID());
+        when(taskRepository.updateStatus(eq(ids), eq(user.getId()), eq("DONE"), any(LocalDateTime.class)))
+                .thenReturn(List.of(statusChange(taskId, TaskStatus.CREATED), statusChange(otherId, TaskStatus.DONE)));
+        int updated = taskService.updateTaskStatus(ids, TaskStatus.DONE);
+        assertEquals(2, updated);
+        verify(taskStatsService).onStatusChanged(user.getId(),
+                Map.of(TaskStatus.CREATED, 1L, TaskStatus.DONE, 1L), TaskStatus.DONE);
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(user.getId(), TaskChangeType.STATUS_CHANGED,
+                List.of(taskId, otherId)));
     }
 
     @Test
     void getAllTasks_shouldReturnTasksForCurrentUser() {
-        Task task1 = new Task();
-        task1.setUser(user);
-        Task task2 = new Task();
-        task2.setUser(user);
-        when(taskRepository.findByUser(user)).thenReturn(List.of(task1, task2));
-        List<Task> tasks = taskService.getAllTasks();
-        assertThat(tasks).hasSize(2);
-        assertThat(tasks).contains(task1, task2);
-        verify(taskRepository, times(1)).findByUser(user);
+        TaskView task1 = view(UUID.randomUUID(), "Task 1", Priority.LOW);
+        TaskView task2 = view(UUID.randomUUID(), "Task 2", Priority.HIGH);
+        when(taskRepository.findViews(any(Specification.class), any(), anyInt())).thenReturn(Window.from(List.of(task1, task2), i -> null));
+        CursorPageResponse<TaskView> page = taskService.getAllTasks(null, TaskService.DEFAULT_PAGE_SIZE);
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getItems()).contains(task1, task2);
+        assertNull(page.getNextCursor());
+        verify(taskRepository, times(1)).findViews(any(Specification.class), any(), eq(TaskService.DEFAULT_PAGE_SIZE));
+        verify(taskRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void getAllTasks_shouldServeRepeatedReadsFromCacheUntilInvalidated() {
+        when(taskRepository.findViews(any(Specification.class), any(), anyInt()))
+                .thenReturn(Window.from(List.of(view(taskId, "Test Task", Priority.LOW)), i -> null));
+        taskService.getAllTasks(null, 50);
+        taskService.getAllTasks(null, 50);
+        verify(taskRepository, times(1)).findViews(any(Specification.class), any(), anyInt());
+
+        taskListCache.onTaskChanged(new TaskChangedEvent(user.getId(), TaskChangeType.CREATED, List.of(taskId)));
+        taskService.getAllTasks(null, 50);
+        verify(taskRepository, times(2)).findViews(any(Specification.class), any(), anyInt());
+        assertEquals(1L, taskListCache.stats().hitCount());
+    }
+
+    @Test
+    void getTaskListETag_shouldChangeOnlyAfterWrite() {
+        String etag = taskService.getTaskListETag();
+        assertEquals(etag, taskService.getTaskListETag());
+
+        taskListCache.onTaskChanged(new TaskChangedEvent("user-1", TaskChangeType.UPDATED, List.of(taskId)));
+        assertNotEquals(etag, taskService.getTaskListETag());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getAllTasks_shouldReturnCursorOfLastTaskWhenMorePagesExist() {
+        TaskView task1 = view(UUID.randomUUID(), "Task 1", Priority.LOW);
+        task1.setCreatedAt(LocalDateTime.of(2025, 1, 2, 10, 0));
+        TaskView task2 = view(UUID.randomUUID(), "Task 2", Priority.LOW);
+        task2.setCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        when(taskRepository.findViews(any(Specification.class), any(), anyInt())).thenReturn(Window.from(List.of(task1, task2), i -> null, true));
+        CursorPageResponse<TaskView> page = taskService.getAllTasks(null, 2);
+        assertNotNull(page.getNextCursor());
+        KeysetScrollPosition position = TaskCursorCodec.decode(page.getNextCursor());
+        assertEquals(task2.getCreatedAt(), position.getKeys().get("createdAt"));
+        assertEquals(task2.getId(), position.getKeys().get("id"));
+    }
+
+    @Test
+    void getAllTasks_shouldRejectMalformedCursor() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.getAllTasks("not-a-cursor", 10));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(taskRepository, never()).findViews(any(Specification.class), any(), anyInt());
     }
 
 
     @Test
     void filterTasks_shouldFilterCorrectly() {
-        Task task1 = new Task();
-        task1.setTitle("Task One");
-        task1.setDescription("Important task");
-        task1.setCategory(Category.WORK);
-        task1.setPriority(Priority.HIGH);
-        task1.setStatus(TaskStatus.CREATED);
-        task1.setUser(user);
+        TaskView task1 = view(UUID.randomUUID(), "Task One", Priority.HIGH);
         task1.setDueDate(LocalDateTime.now().minusDays(1));
-        Task task2 = new Task();
-        task2.setTitle("Task Two");
-        task2.setDescription("Another task");
-        task2.setCategory(Category.PERSONAL);
-        task2.setPriority(Priority.LOW);
-        task2.setStatus(TaskStatus.DONE);
-        task2.setUser(user);
-        task2.setDueDate(LocalDateTime.now().plusDays(1));
-        when(taskRepository.findByUser(user)).thenReturn(List.of(task1, task2));
-        List<Task> filteredTasks = taskService.filterTasks(
-                "one", Category.WORK, Priority.HIGH, TaskStatus.CREATED, true
-        );
+        when(taskRepository.findViews(any(Specification.class), any(), anyInt())).thenReturn(Window.from(List.of(task1), i -> null));
+        List<TaskView> filteredTasks = taskService.filterTasks(
+                "one", Category.WORK, Priority.HIGH, TaskStatus.CREATED, true, null, TaskService.DEFAULT_PAGE_SIZE
+        ).getItems();
         assertThat(filteredTasks).hasSize(1);
         assertThat(filteredTasks.get(0)).isEqualTo(task1);
+        assertTrue(filteredTasks.get(0).isOverdue());
+        verify(taskRepository, times(1)).findViews(any(Specification.class), any(), anyInt());
+        verify(taskRepository, never()).findByUser(any());
+    }
+
+    @Test
+    void searchTasks_shouldQueryWithTrimmedTermForCurrentUser() {
+        TaskSearchResult hit = mock(TaskSearchResult.class);
+        when(taskRepository.search(user.getId(), "report", "%report%", 20)).thenReturn(List.of(hit));
+        List<TaskSearchResult> results = taskService.searchTasks("  report ", 20);
+        assertThat(results).containsExactly(hit);
+        verify(taskRepository, times(1)).search(user.getId(), "report", "%report%", 20);
+    }
+
+    @Test
+    void searchTasks_shouldSkipQueryForBlankTerm() {
+        assertThat(taskService.searchTasks("   ", 20)).isEmpty();
+        verify(taskRepository, never()).search(any(), any(), any(), anyInt());
     }
 
     @Test
-    void sortTasks_shouldSortByDueDateAscending() {
-        Task task1 = new Task(); task1.setDueDate(LocalDateTime.now().plusDays(3));
-        Task task2 = new Task(); task2.setDueDate(LocalDateTime.now().plusDays(1));
-        Task task3 = new Task(); task3.setDueDate(LocalDateTime.now().plusDays(2));
-        List<Task> tasks = new ArrayList<>(List.of(task1, task2, task3));
-        List<Task> sorted = taskService.sortTasks(tasks, "dueDate", true);
-        assertThat(sorted).containsExactly(task2, task3, task1);
+    void sortTasks_shouldRunSingleQueryScopedToCurrentUser() {
+        TaskView task1 = view(UUID.randomUUID(), "Task 1", Priority.LOW);
+        TaskView task2 = view(UUID.randomUUID(), "Task 2", Priority.HIGH);
+        when(taskRepository.findViews(any(Specification.class), anyInt())).thenReturn(List.of(task2, task1));
+        List<TaskView> sorted = taskService.sortTasks(List.of(task1.getId(), task2.getId()),
+                List.of("priority", "dueDate", "createdAt"), false, 1);
+        assertThat(sorted).containsExactly(task2, task1);
+        verify(taskRepository, times(1)).findViews(any(Specification.class), eq(2));
+        verify(taskRepository, never()).findById(any());
     }
 
     @Test
-    void sortTasks_shouldSortByPriorityDescending() {
-        Task task1 = new Task(); task1.setPriority(Priority.LOW);
-        Task task2 = new Task(); task2.setPriority(Priority.HIGH);
-        Task task3 = new Task(); task3.setPriority(Priority.MEDIUM);
-        List<Task> tasks = new ArrayList<>(List.of(task1, task2, task3));
-        List<Task> sorted = taskService.sortTasks(tasks, "priority", false);
-        assertThat(sorted).containsExactly(task2, task3, task1);
+    void sortTasks_shouldRejectUnsupportedSortKeyWithBadRequest() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> taskService.sortTasks(List.of(taskId), List.of("user"), true, TaskService.DEFAULT_PAGE_SIZE));
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(taskRepository, never()).findViews(any(Specification.class), anyInt());
+    }
+
+    @Test
+    void sortTasks_shouldCapResultSizeWhenNoIdsAreGiven() {
+        when(taskRepository.findViews(any(Specification.class), anyInt())).thenReturn(List.of());
+        taskService.sortTasks(null, List.of("priority"), true, 10_000);
+        verify(taskRepository, times(1)).findViews(any(Specification.class), eq(TaskService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void sortTasks_shouldReturnEveryRequestedTaskBeyondPageSize() {
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(TaskService.MAX_PAGE_SIZE + 50).toList();
+        when(taskRepository.findViews(any(Specification.class), anyInt())).thenReturn(List.of());
+        taskService.sortTasks(ids, List.of("priority"), true, TaskService.DEFAULT_PAGE_SIZE);
+        verify(taskRepository, times(1)).findViews(any(Specification.class), eq(ids.size()));
+    }
+
+    @Test
+    void sortTasks_shouldRejectMoreIdsThanBatchSize() {
+        List<UUID> ids = Collections.nCopies(TaskService.MAX_BATCH_SIZE + 1, taskId);
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> taskService.sortTasks(ids, List.of("priority"), true, TaskService.DEFAULT_PAGE_SIZE));
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(taskRepository, never()).findViews(any(Specification.class), anyInt());
+    }
+
+    private static StatusChange statusChange(UUID id, TaskStatus previousStatus) {
+        return new StatusChange() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public TaskStatus getPreviousStatus() {
+                return previousStatus;
+            }
+        };
+    }
+
+    private static TaskView view(UUID id, String title, Priority priority) {
+        return new TaskView(id, title, null, null, priority, TaskStatus.CREATED, Category.WORK,
+                LocalDateTime.now(), LocalDateTime.now(), 0);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package org.example.projectfortest.service;
+
+import org.example.projectfortest.dto.TaskStatsResponse;
+import org.example.projectfortest.entity.Task;
+import org.example.projectfortest.entity.TaskCounter;
+import org.example.projectfortest.entity.TaskCounterId;
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.repository.TaskCounterRepository;
+import org.example.projectfortest.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TaskStatsServiceTest {
+
+    @Mock
+    private TaskCounterRepository taskCounterRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskStatsService taskStatsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(currentUserProvider.getCurrentUserId()).thenReturn("user-1");
+        taskStatsService = new TaskStatsService(taskCounterRepository, taskRepository, currentUserProvider,
+                transactionManager);
+    }
+
+    @Test
+    void onTasksCreated_shouldIncrementCountersInKeyOrder() {
+        Task work = task(TaskStatus.CREATED, Category.WORK, Priority.HIGH);
+        Task health = task(TaskStatus.CREATED, Category.HEALTH, Priority.HIGH);
+
+        taskStatsService.onTasksCreated("user-1", List.of(work, health));
+
+        InOrder inOrder = inOrder(taskCounterRepository);
+        inOrder.verify(taskCounterRepository).claimInitialization("user-1");
+        inOrder.verify(taskCounterRepository).increment("user-1", "category:HEALTH", 1);
+        inOrder.verify(taskCounterRepository).increment("user-1", "category:WORK", 1);
+        inOrder.verify(taskCounterRepository).increment("user-1", "priority:HIGH", 2);
+        inOrder.verify(taskCounterRepository).increment("user-1", "status:CREATED", 2);
+        inOrder.verify(taskCounterRepository).increment("user-1", "total", 2);
+        verifyNoMoreInteractions(taskCounterRepository);
+    }
+
+    @Test
+    void onStatusChanged_shouldMoveOnlyTasksThatChangedStatus() {
+        taskStatsService.onStatusChanged("user-1",
+                Map.of(TaskStatus.CREATED, 3L, TaskStatus.DONE, 1L), TaskStatus.DONE);
+
+        verify(taskCounterRepository).claimInitialization("user-1");
+        verify(taskCounterRepository).increment("user-1", "status:CREATED", -3);
+        verify(taskCounterRepository).increment("user-1", "status:DONE", 3);
+        verifyNoMoreInteractions(taskCounterRepository);
+    }
+
+    @Test
+    void onTaskUpdated_shouldRebuildCountersOfPreExistingUserInsteadOfApplyingDelta() {
+        when(taskCounterRepository.claimInitialization("user-1")).thenReturn(1);
+
+        taskStatsService.onTaskUpdated("user-1", Category.WORK, Priority.LOW, Category.HEALTH, Priority.LOW);
+
+        verify(taskCounterRepository).rebuildForUser("user-1");
+        verify(taskCounterRepository, never()).increment(any(), any(), anyLong());
+    }
+
+    @Test
+    void onTaskUpdated_shouldSkipCountersWhenNothingCounted() {
+        taskStatsService.onTaskUpdated("user-1", Category.WORK, Priority.LOW, Category.WORK, Priority.LOW);
+
+        verifyNoInteractions(taskCounterRepository);
+    }
+
+    @Test
+    void getStats_shouldReconcileUserWhoseCountersHaveNoTotalRow() {
+        when(taskCounterRepository.findByIdUserId("user-1")).thenReturn(
+                List.of(counter("category:WORK", -1)),
+                List.of(counter("total", 5), counter("category:WORK", 5)));
+
+        TaskStatsResponse stats = taskStatsService.getStats();
+
+        verify(taskCounterRepository).rebuildForUser("user-1");
+        assertThat(stats.getTotal()).isEqualTo(5);
+        assertThat(stats.getByCategory()).containsEntry(Category.WORK, 5L);
+    }
+
+    @Test
+    void getStats_shouldReconcileMissingCountersAndAddOverdue() {
+        when(taskCounterRepository.findByIdUserId("user-1")).thenReturn(List.of(), List.of(
+                counter("total", 4), counter("status:DONE", 1), counter("status:CREATED", 3),
+                counter("category:WORK", 4), counter("priority:LOW", 4)));
+        when(taskRepository.countOverdue(eq("user-1"), any())).thenReturn(2L);
+
+        TaskStatsResponse stats = taskStatsService.getStats();
+
+        verify(taskCounterRepository).deleteByUser("user-1");
+        verify(taskCounterRepository).rebuildForUser("user-1");
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(stats.getOverdue()).isEqualTo(2);
+        assertThat(stats.getByStatus()).containsEntry(TaskStatus.CREATED, 3L)
+                .containsEntry(TaskStatus.IN_PROGRESS, 0L).containsEntry(TaskStatus.DONE, 1L);
+        assertThat(stats.getByCategory()).containsEntry(Category.WORK, 4L).containsEntry(Category.HEALTH, 0L);
+        assertThat(stats.getByPriority()).containsEntry(Priority.LOW, 4L);
+    }
+
+    private static Task task(TaskStatus status, Category category, Priority priority) {
+        Task task = new Task();
+        task.setStatus(status);
+        task.setCategory(category);
+        task.setPriority(priority);
+        return task;
+    }
+
+    private static TaskCounter counter(String key, long count) {
+        return new TaskCounter(new TaskCounterId("user-1", key), count);
+    }
+}
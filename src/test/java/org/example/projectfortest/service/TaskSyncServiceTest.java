@@ -0,0 +1,132 @@
+package org.example.projectfortest.service;
+
+import org.example.projectfortest.dto.TaskChangesResponse;
+import org.example.projectfortest.dto.TaskView;
+import org.example.projectfortest.entity.enums.Category;
+import org.example.projectfortest.entity.enums.Priority;
+import org.example.projectfortest.entity.enums.TaskStatus;
+import org.example.projectfortest.repository.TaskRepository;
+import org.example.projectfortest.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class TaskSyncServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    private TaskSyncService taskSyncService;
+    private TaskView view;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(currentUserProvider.getCurrentUserId()).thenReturn("user-1");
+        taskSyncService = new TaskSyncService(taskRepository, taskTombstoneRepository, currentUserProvider,
+                Duration.ofSeconds(5), Duration.ofDays(30));
+        view = new TaskView(UUID.randomUUID(), "Task", null, null, Priority.LOW, TaskStatus.CREATED,
+                Category.WORK, LocalDateTime.now(), LocalDateTime.now(), 0);
+    }
+
+    @Test
+    void getChanges_shouldReturnEverythingWithoutToken() {
+        when(taskRepository.findViews(any(Specification.class), any(), anyInt())).thenReturn(lastPage(view));
+
+        TaskChangesResponse response = taskSyncService.getChanges(null, null, 50);
+
+        assertThat(response.isFullResync()).isTrue();
+        assertThat(response.getChanged()).containsExactly(view);
+        assertThat(response.getSyncToken()).isNotBlank();
+        assertThat(response.getNextCursor()).isNull();
+        verifyNoInteractions(taskTombstoneRepository);
+    }
+
+    @Test
+    void getChanges_shouldReturnChangesAndTombstonesSinceTokenMinusOverlap() {
+        Instant previous = Instant.now().minusSeconds(60).truncatedTo(ChronoUnit.MILLIS);
+        UUID deletedId = UUID.randomUUID();
+        when(taskRepository.findViews(any(Specification.class), any(), anyInt())).thenReturn(lastPage(view));
+        when(taskTombstoneRepository.findTaskIdsDeletedAfter(eq("user-1"), any())).thenReturn(List.of(deletedId));
+
+        TaskChangesResponse response = taskSyncService.getChanges(TaskSyncTokenCodec.encode(previous), null, 50);
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskTombstoneRepository).findTaskIdsDeletedAfter(eq("user-1"), since.capture());
+        assertThat(since.getValue()).isEqualTo(LocalDateTime.ofInstant(previous.minusSeconds(5), ZoneId.systemDefault()));
+        assertThat(response.isFullResync()).isFalse();
+        assertThat(response.getChanged()).containsExactly(view);
+        assertThat(response.getDeleted()).containsExactly(deletedId);
+    }
+
+    @Test
+    void getChanges_shouldIssueTokenOfFirstPageOnlyAfterLastPage() {
+        String since = TaskSyncTokenCodec.encode(Instant.now().minusSeconds(60));
+        TaskView older = new TaskView(UUID.randomUUID(), "Older", null, null, Priority.LOW, TaskStatus.CREATED,
+                Category.WORK, view.getCreatedAt().minusMinutes(1), LocalDateTime.now(), 0);
+        when(taskRepository.findViews(any(Specification.class), any(), eq(1)))
+                .thenReturn(Window.from(List.of(view), i -> null, true), lastPage(older));
+        when(taskTombstoneRepository.findTaskIdsDeletedAfter(eq("user-1"), any())).thenReturn(List.of());
+
+        TaskChangesResponse first = taskSyncService.getChanges(since, null, 1);
+        TaskChangesResponse second = taskSyncService.getChanges(since, first.getNextCursor(), 1);
+
+        assertThat(first.getChanged()).containsExactly(view);
+        assertThat(first.getSyncToken()).isNull();
+        assertThat(first.getNextCursor()).isNotBlank();
+        assertThat(second.getChanged()).containsExactly(older);
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(first.getNextCursor()).startsWith(second.getSyncToken() + ".");
+        ArgumentCaptor<KeysetScrollPosition> position = ArgumentCaptor.forClass(KeysetScrollPosition.class);
+        verify(taskRepository, times(2)).findViews(any(Specification.class), position.capture(), eq(1));
+        assertThat(position.getAllValues().get(1).getKeys())
+                .containsEntry("createdAt", view.getCreatedAt())
+                .containsEntry("id", view.getId());
+        verify(taskTombstoneRepository, times(1)).findTaskIdsDeletedAfter(eq("user-1"), any());
+    }
+
+    @Test
+    void getChanges_shouldForceResyncForTokenOlderThanRetention() {
+        when(taskRepository.findViews(any(Specification.class), any(), anyInt())).thenReturn(lastPage(view));
+
+        TaskChangesResponse response = taskSyncService.getChanges(
+                TaskSyncTokenCodec.encode(Instant.now().minus(Duration.ofDays(31))), null, 50);
+
+        assertThat(response.isFullResync()).isTrue();
+        assertThatThrownBy(() -> taskSyncService.getChanges("%%%", null, 50))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> taskSyncService.getChanges(null, "no-separator", 50))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private static Window<TaskView> lastPage(TaskView... views) {
+        return Window.from(List.of(views), i -> null);
+    }
+}
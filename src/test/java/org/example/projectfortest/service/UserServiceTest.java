@@ -2,6 +2,7 @@ package org.example.projectfortest.service;
 
 import org.example.projectfortest.config.JwtTokenProvider;
 import org.example.projectfortest.dto.RegisterRequest;
+import org.example.projectfortest.dto.UserResponse;
 import org.example.projectfortest.entity.User;
 import org.example.projectfortest.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,7 +10,6 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Map;
 import java.util.Optional;
@@ -24,11 +24,17 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private UserService userService;
 
@@ -42,16 +48,17 @@ class UserServiceTest {
         RegisterRequest request = new RegisterRequest("new@mail.com", "pass123");
 
         when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(request.getPassword())).thenReturn("encodedPass");
+        when(passwordHashingService.encode(request.getPassword())).thenReturn("encodedPass");
 
         User savedUser = User.builder().email(request.getEmail()).password("encodedPass").build();
         when(userRepository.save(any(User.class))).thenReturn(savedUser);
         when(jwtTokenProvider.generateAccessToken(savedUser)).thenReturn("access123");
-        when(jwtTokenProvider.generateRefreshToken(savedUser)).thenReturn("refresh123");
+        when(refreshTokenService.issue(savedUser)).thenReturn("refresh123");
 
         Map<String, Object> result = userService.register(request);
 
-        assertThat(result).containsEntry("user", savedUser);
+        assertThat(result.get("user")).isInstanceOf(UserResponse.class);
+        assertThat(((UserResponse) result.get("user")).getEmail()).isEqualTo("new@mail.com");
         assertThat(result.get("accessToken")).isEqualTo("access123");
         assertThat(result.get("refreshToken")).isEqualTo("refresh123");
         verify(userRepository).save(any(User.class));
@@ -71,9 +78,9 @@ class UserServiceTest {
     void login_shouldReturnTokensIfPasswordMatches() {
         User user = User.builder().email("user@mail.com").password("encodedPass").build();
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("pass123", "encodedPass")).thenReturn(true);
+        when(passwordHashingService.matches("pass123", "encodedPass")).thenReturn(true);
         when(jwtTokenProvider.generateAccessToken(user)).thenReturn("access123");
-        when(jwtTokenProvider.generateRefreshToken(user)).thenReturn("refresh123");
+        when(refreshTokenService.issue(user)).thenReturn("refresh123");
 
         Map<String, String> tokens = userService.login(user.getEmail(), "pass123");
 
@@ -81,11 +88,26 @@ class UserServiceTest {
                 .containsEntry("refreshToken", "refresh123");
     }
 
+    @Test
+    void login_shouldRehashPasswordWhenCostChanged() {
+        User user = User.builder().email("user@mail.com").password("oldHash").build();
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("pass123", "oldHash")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("oldHash")).thenReturn(true);
+        when(passwordHashingService.encode("pass123")).thenReturn("newHash");
+
+        userService.login(user.getEmail(), "pass123");
+
+        assertThat(user.getPassword()).isEqualTo("newHash");
+        verify(userRepository).save(user);
+        verify(userCache).evict("user@mail.com");
+    }
+
     @Test
     void login_shouldThrowIfPasswordDoesNotMatch() {
         User user = User.builder().email("user@mail.com").password("encodedPass").build();
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("wrongPass", "encodedPass")).thenReturn(false);
+        when(passwordHashingService.matches("wrongPass", "encodedPass")).thenReturn(false);
 
         assertThatThrownBy(() -> userService.login(user.getEmail(), "wrongPass"))
                 .isInstanceOf(RuntimeException.class)
@@ -103,9 +125,9 @@ class UserServiceTest {
 
     @Test
     void recoveryPassword_shouldUpdatePasswordWhenUserExists() {
-        User user = User.builder().email("user@mail.com").password("oldPass").build();
+        User user = User.builder().id("user-1").email("user@mail.com").password("oldPass").build();
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
-        when(passwordEncoder.encode("newPass")).thenReturn("encodedNewPass");
+        when(passwordHashingService.encode("newPass")).thenReturn("encodedNewPass");
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         Map<String, String> result = userService.recoveryPassword(user.getEmail(), "newPass");
@@ -113,6 +135,8 @@ class UserServiceTest {
         assertThat(result.get("message")).isEqualTo("Password updated successfully");
         assertThat(result.get("email")).isEqualTo(user.getEmail());
         verify(userRepository).save(user);
+        verify(userCache).evict(user.getEmail());
+        verify(refreshTokenService).revokeAll("user-1");
     }
 
     @Test